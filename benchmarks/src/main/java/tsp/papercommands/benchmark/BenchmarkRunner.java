@@ -0,0 +1,35 @@
+package tsp.papercommands.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark with the GC profiler, reporting allocation rates ({@code gc.alloc.rate.norm} is bytes per operation).
+ * Any arguments are passed to the regular JMH command line instead, e.g. {@code -prof gc ParsersBenchmark}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        run();
+    }
+
+    private static void run() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include("tsp\\.papercommands\\.benchmark\\..*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
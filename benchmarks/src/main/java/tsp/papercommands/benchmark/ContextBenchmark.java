@@ -0,0 +1,55 @@
+package tsp.papercommands.benchmark;
+
+import org.bukkit.command.CommandSender;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import tsp.papercommands.command.CommandSignature;
+import tsp.papercommands.command.PaperCommand;
+import tsp.papercommands.command.PaperCommandContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PaperCommandContext} construction, option extraction and signature binding.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextBenchmark {
+
+    private CommandSender sender;
+    private PaperCommand command;
+    private CommandSignature signature;
+
+    private final String[] plain = {"minecraft:max_health", "testkey:even_more_health", "5"};
+    private final String[] withOptions = {"minecraft:max_health", "-override", "testkey:even_more_health", "-silent", "5"};
+
+    @Setup
+    public void setup() {
+        // Stub-only mocks do not record invocations, so they do not allocate per call.
+        sender = Mockito.mock(CommandSender.class, Mockito.withSettings().stubOnly());
+        command = new PaperCommand("bench");
+        signature = CommandSignature.compile("<attribute:key> <key:key> <amount:int>");
+    }
+
+    @Benchmark
+    public PaperCommandContext<CommandSender> construct() {
+        return new PaperCommandContext<>(sender, command, plain);
+    }
+
+    @Benchmark
+    public PaperCommandContext<CommandSender> constructWithOptions() {
+        return new PaperCommandContext<>(sender, command, withOptions);
+    }
+
+    @Benchmark
+    public boolean constructAndBind() {
+        return new PaperCommandContext<>(sender, command, plain).bind(signature);
+    }
+
+}
@@ -0,0 +1,60 @@
+package tsp.papercommands.benchmark;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import tsp.papercommands.command.PaperCommand;
+import tsp.papercommands.metrics.CommandMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The synchronous {@link PaperCommand#execute} path: permission and usage checks, binding and an empty handler.
+ * The invalid case is the reply path hit by malformed commands.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"true", "false"})
+    public boolean metrics;
+
+    private CommandSender sender;
+    private PaperCommand command;
+
+    private final String[] valid = {"Silent", "64", "1h30m"};
+    private final String[] invalid = {"Silent", "sixty-four"};
+
+    @Setup
+    public void setup() {
+        sender = Mockito.mock(CommandSender.class, Mockito.withSettings().stubOnly());
+        Mockito.when(sender.hasPermission(Mockito.anyString())).thenReturn(true);
+        command = new PaperCommand("give", "<name> <amount:int> [time:duration]", "bench.give",
+                Component.text("Usage: {usage}"), Component.text("No permission!"), ctx -> {});
+        CommandMetrics.INSTANCE.setEnabled(metrics);
+    }
+
+    @TearDown
+    public void tearDown() {
+        CommandMetrics.INSTANCE.setEnabled(true);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> valid() {
+        return command.execute(sender, "give", valid);
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> usageFailure() {
+        return command.execute(sender, "give", invalid);
+    }
+
+}
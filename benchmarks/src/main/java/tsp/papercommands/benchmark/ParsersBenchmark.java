@@ -0,0 +1,136 @@
+package tsp.papercommands.benchmark;
+
+import com.google.common.collect.Range;
+import net.kyori.adventure.util.TriState;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.inventory.ItemFlag;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tsp.papercommands.argument.parser.ArgumentParser;
+import tsp.papercommands.argument.parser.ArgumentParsers;
+import tsp.papercommands.argument.parser.DurationParser;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ArgumentParsers#find(Class)} and the built-in parsers, each with a valid and an invalid input.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsersBenchmark {
+
+    private ArgumentParser<Integer> ints;
+    private ArgumentParser<Long> longs;
+    private ArgumentParser<Double> doubles;
+    private ArgumentParser<Number> numbers;
+    private ArgumentParser<UUID> uuids;
+    private ArgumentParser<Boolean> booleans;
+    private ArgumentParser<TriState> triStates;
+    private ArgumentParser<ItemFlag> itemFlags;
+    private ArgumentParser<AttributeModifier> modifiers;
+    private ArgumentParser<Range> ranges;
+
+    @Setup
+    public void setup() {
+        ArgumentParsers parsers = ArgumentParsers.INSTANCE;
+        ints = parsers.find(Integer.class).orElseThrow();
+        longs = parsers.find(Long.class).orElseThrow();
+        doubles = parsers.find(Double.class).orElseThrow();
+        numbers = parsers.find(Number.class).orElseThrow();
+        uuids = parsers.find(UUID.class).orElseThrow();
+        booleans = parsers.find(Boolean.class).orElseThrow();
+        triStates = parsers.find(TriState.class).orElseThrow();
+        itemFlags = parsers.find(ItemFlag.class).orElseThrow();
+        modifiers = parsers.find(AttributeModifier.class).orElseThrow();
+        ranges = parsers.find(Range.class).orElseThrow();
+    }
+
+    @Benchmark
+    public Object findExact() {
+        return ArgumentParsers.INSTANCE.find(Integer.class);
+    }
+
+    @Benchmark
+    public Object findSupertype() {
+        // No parser is registered, the hierarchy walk runs once and the miss is cached per class.
+        return ArgumentParsers.INSTANCE.find(StringBuilder.class);
+    }
+
+    @Benchmark
+    public void integers(Blackhole bh) {
+        bh.consume(ints.parse("123456"));
+        bh.consume(ints.parse("12a"));
+    }
+
+    @Benchmark
+    public void longs(Blackhole bh) {
+        bh.consume(longs.parse("9007199254740993"));
+        bh.consume(longs.parse("not-a-number"));
+    }
+
+    @Benchmark
+    public void doubles(Blackhole bh) {
+        bh.consume(doubles.parse("12.375"));
+        bh.consume(doubles.parse("1.2.3"));
+    }
+
+    @Benchmark
+    public void localeNumbers(Blackhole bh) {
+        bh.consume(numbers.parse("1,250,000"));
+        bh.consume(numbers.parse("2.5k"));
+    }
+
+    @Benchmark
+    public void durations(Blackhole bh) {
+        bh.consume(DurationParser.parse("1d2h30m15s"));
+        bh.consume(DurationParser.parseSafely("1x"));
+    }
+
+    @Benchmark
+    public Duration durationCached() {
+        return DurationParser.parse("30m");
+    }
+
+    @Benchmark
+    public void uuids(Blackhole bh) {
+        bh.consume(uuids.parse("069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+        bh.consume(uuids.parse("069a79f444e94726a5befca90e38aaf5"));
+        bh.consume(uuids.parse("Notch"));
+    }
+
+    @Benchmark
+    public void booleans(Blackhole bh) {
+        bh.consume(booleans.parse("yes"));
+        bh.consume(booleans.parse("maybe"));
+        bh.consume(triStates.parse("not_set"));
+    }
+
+    @Benchmark
+    public void enums(Blackhole bh) {
+        bh.consume(itemFlags.parse("hide_enchants"));
+        bh.consume(itemFlags.parse("HIDE_ATTR"));
+        bh.consume(itemFlags.parse("unknown"));
+    }
+
+    @Benchmark
+    public void attributeModifiers(Blackhole bh) {
+        bh.consume(modifiers.parse("papercommands:bonus,2.5,add_number,mainhand"));
+        bh.consume(modifiers.parse("papercommands:bonus|2.5|add_scalar|armor"));
+        bh.consume(modifiers.parse("papercommands:bonus,x,add_number,mainhand"));
+    }
+
+    @Benchmark
+    public void ranges(Blackhole bh) {
+        bh.consume(ranges.parse("5-64"));
+        bh.consume(ranges.parse("5-"));
+    }
+
+}
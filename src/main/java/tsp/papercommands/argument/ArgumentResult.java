@@ -0,0 +1,106 @@
+package tsp.papercommands.argument;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The result of parsing an argument, used to branch on invalid input without exceptions.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class ArgumentResult<T> {
+
+    private final int index;
+    @Nullable
+    private final String raw;
+    @Nullable
+    private final T value;
+
+    private ArgumentResult(int index, @Nullable String raw, @Nullable T value) {
+        this.index = index;
+        this.raw = raw;
+        this.value = value;
+    }
+
+    @NotNull
+    public static <T> ArgumentResult<T> success(int index, @Nullable String raw, @NotNull T value) {
+        return new ArgumentResult<>(index, raw, value);
+    }
+
+    @NotNull
+    public static <T> ArgumentResult<T> failure(int index, @Nullable String raw) {
+        return new ArgumentResult<>(index, raw, null);
+    }
+
+    @NotNull
+    public static <T> ArgumentResult<T> of(int index, @Nullable String raw, @NotNull Optional<T> value) {
+        return new ArgumentResult<>(index, raw, value.orElse(null));
+    }
+
+    /**
+     * The index(position) of the argument in the command.
+     *
+     * @return The number position
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * The raw value of the argument.
+     *
+     * @return The raw value, if present
+     */
+    @NotNull
+    public Optional<String> raw() {
+        return Optional.ofNullable(raw);
+    }
+
+    public boolean isSuccess() {
+        return value != null;
+    }
+
+    public boolean isFailure() {
+        return value == null;
+    }
+
+    /**
+     * Get the parsed value.
+     *
+     * @return The value
+     * @throws NoSuchElementException If parsing failed
+     */
+    @NotNull
+    public T get() throws NoSuchElementException {
+        if (value == null) {
+            throw new NoSuchElementException("Argument " + index + " is invalid.");
+        }
+        return value;
+    }
+
+    @Nullable
+    public T orElse(@Nullable T other) {
+        return value != null ? value : other;
+    }
+
+    public void ifSuccess(@NotNull Consumer<? super T> action) {
+        if (value != null) {
+            action.accept(value);
+        }
+    }
+
+    @NotNull
+    public Optional<T> toOptional() {
+        return Optional.ofNullable(value);
+    }
+
+    @Override
+    public String toString() {
+        return "ArgumentResult{index=" + index + ", raw=" + raw + ", value=" + value + "}";
+    }
+
+}
@@ -0,0 +1,324 @@
+package tsp.papercommands.argument;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The arguments of a command line, tokenized once into offsets over the original line.
+ * <p>
+ * Arguments are separated by spaces. An argument starting with {@code "} or {@code '} extends to the matching quote,
+ * spaces included, and may escape that quote or a backslash with a backslash: {@code "a \"quoted\" reason"}.
+ * A quote that is not closed, or whose closing quote is not followed by a space, is read literally like any other word.
+ * <p>
+ * Every argument is available as a {@link #view(int) view} over the line, strings are only created by {@link #get(int)}
+ * and cached. {@link #greedy(int)} returns the remaining text with its original spacing and quotes.
+ * Slices and selections share the tokenized line.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class ArgumentTokens extends AbstractList<String> implements RandomAccess {
+
+    private static final ArgumentTokens EMPTY = new ArgumentTokens("", new int[0], new boolean[0], new String[0], new int[0], 0, 0);
+
+    private final String line;
+    private final int[] bounds; // Start and end of every token of the line, excluding quotes
+    private final boolean[] quoted;
+    private final String[] strings; // Materialized tokens, filled in advance for tokens with escapes
+    private final int[] index; // Tokens of the line that belong to this list
+    private final int offset;
+    private final int size;
+
+    private ArgumentTokens(String line, int[] bounds, boolean[] quoted, String[] strings, int[] index, int offset, int size) {
+        this.line = line;
+        this.bounds = bounds;
+        this.quoted = quoted;
+        this.strings = strings;
+        this.index = index;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Tokenize a command line, honouring quotes.
+     * A trailing space adds an empty last argument, the one being typed when tab completing.
+     *
+     * @param line The arguments of the command line, without the label
+     * @return The tokens
+     */
+    @NotNull
+    public static ArgumentTokens tokenize(@NotNull String line) {
+        return tokenize(line, line.endsWith(" "));
+    }
+
+    /**
+     * Join arguments split by the server back into the original line and tokenize it, honouring quotes.
+     * The server splits on every space, so the line is restored as typed.
+     *
+     * @param args The arguments
+     * @return The tokens
+     */
+    @NotNull
+    public static ArgumentTokens split(@NotNull String... args) {
+        return tokenize(String.join(" ", args), args.length > 0 && args[args.length - 1].isEmpty());
+    }
+
+    private static ArgumentTokens tokenize(String line, boolean open) {
+        int length = line.length();
+        if (length == 0 && !open) {
+            return EMPTY;
+        }
+
+        int[] bounds = new int[16];
+        boolean[] quoted = new boolean[8];
+        String[] escaped = null;
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            char c = line.charAt(i);
+            if (c == ' ') {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            int end = -1;
+            boolean quote = false;
+            boolean escapes = false;
+            if (c == '"' || c == '\'') {
+                for (int j = i + 1; j < length; j++) {
+                    char d = line.charAt(j);
+                    if (d == '\\' && j + 1 < length && (line.charAt(j + 1) == c || line.charAt(j + 1) == '\\')) {
+                        escapes = true;
+                        j++;
+                    } else if (d == c) {
+                        if (j + 1 == length || line.charAt(j + 1) == ' ') {
+                            quote = true;
+                            start = i + 1;
+                            end = j;
+                        }
+                        break;
+                    }
+                }
+            }
+            if (!quote) {
+                end = line.indexOf(' ', i);
+                if (end == -1) {
+                    end = length;
+                }
+            }
+
+            if (count == quoted.length) {
+                bounds = Arrays.copyOf(bounds, count * 4);
+                quoted = Arrays.copyOf(quoted, count * 2);
+            }
+            bounds[count * 2] = start;
+            bounds[count * 2 + 1] = end;
+            quoted[count] = quote;
+            if (quote && escapes) {
+                if (escaped == null) {
+                    escaped = new String[quoted.length];
+                } else if (escaped.length < quoted.length) {
+                    escaped = Arrays.copyOf(escaped, quoted.length);
+                }
+                escaped[count] = unescape(line, start, end);
+            }
+            count++;
+            i = quote ? end + 1 : end;
+        }
+
+        if (open) {
+            if (count == quoted.length) {
+                bounds = Arrays.copyOf(bounds, count * 2 + 2);
+                quoted = Arrays.copyOf(quoted, count + 1);
+            }
+            bounds[count * 2] = length;
+            bounds[count * 2 + 1] = length;
+            count++;
+        }
+
+        String[] strings = escaped != null ? Arrays.copyOf(escaped, count) : new String[count];
+        int[] index = new int[count];
+        for (int j = 0; j < count; j++) {
+            index[j] = j;
+        }
+        return new ArgumentTokens(line, bounds, quoted, strings, index, 0, count);
+    }
+
+    /**
+     * Wrap already split arguments, which are taken literally.
+     *
+     * @param args The arguments
+     * @return The tokens
+     */
+    @NotNull
+    public static ArgumentTokens of(@NotNull String... args) {
+        if (args.length == 0) {
+            return EMPTY;
+        }
+
+        String line = String.join(" ", args);
+        int[] bounds = new int[args.length * 2];
+        int[] index = new int[args.length];
+        int position = 0;
+        for (int i = 0; i < args.length; i++) {
+            bounds[i * 2] = position;
+            position += args[i].length();
+            bounds[i * 2 + 1] = position++;
+            index[i] = i;
+        }
+        return new ArgumentTokens(line, bounds, new boolean[args.length], args.clone(), index, 0, args.length);
+    }
+
+    private static String unescape(String line, int start, int end) {
+        StringBuilder builder = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < end) {
+                char next = line.charAt(i + 1);
+                if (next == '\\' || next == '"' || next == '\'') {
+                    c = next;
+                    i++;
+                }
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String get(int i) {
+        int token = token(i);
+        String string = strings[token];
+        if (string == null) {
+            string = line.substring(bounds[token * 2], bounds[token * 2 + 1]);
+            strings[token] = string;
+        }
+        return string;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A view of an argument over the line, without creating a string.
+     *
+     * @param i The index of the argument
+     * @return The view
+     */
+    @NotNull
+    public CharSequence view(int i) {
+        int token = token(i);
+        String string = strings[token];
+        return string != null ? string : new ArgumentView(line, bounds[token * 2], bounds[token * 2 + 1]);
+    }
+
+    /**
+     * Whether an argument was quoted. Quoted arguments are never options.
+     *
+     * @param i The index of the argument
+     * @return Whether quoted
+     */
+    public boolean isQuoted(int i) {
+        return quoted[token(i)];
+    }
+
+    /**
+     * Whether an argument starts with a prefix, without creating a string.
+     *
+     * @param i The index of the argument
+     * @param prefix The prefix
+     * @return Whether the argument starts with the prefix
+     */
+    public boolean startsWith(int i, @NotNull String prefix) {
+        int token = token(i);
+        String string = strings[token];
+        return string != null ? string.startsWith(prefix) : bounds[token * 2 + 1] - bounds[token * 2] >= prefix.length() && line.startsWith(prefix, bounds[token * 2]);
+    }
+
+    /**
+     * The length of an argument.
+     *
+     * @param i The index of the argument
+     * @return The length
+     */
+    public int length(int i) {
+        int token = token(i);
+        String string = strings[token];
+        return string != null ? string.length() : bounds[token * 2 + 1] - bounds[token * 2];
+    }
+
+    /**
+     * The text from an argument to the last one, as typed including spacing and quotes.
+     * If tokens were removed in between, e.g. options, the remaining arguments are joined by single spaces instead.
+     *
+     * @param from The index of the first argument
+     * @return The text, empty if there are no arguments from the index
+     */
+    @NotNull
+    public CharSequence greedy(int from) {
+        if (from < 0 || from >= size) {
+            return "";
+        }
+
+        int first = index[offset + from];
+        int last = index[offset + size - 1];
+        if (last - first == size - 1 - from) {
+            int start = bounds[first * 2] - (quoted[first] ? 1 : 0);
+            int end = bounds[last * 2 + 1] + (quoted[last] ? 1 : 0);
+            return new ArgumentView(line, start, end);
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = from; i < size; i++) {
+            if (i > from) {
+                builder.append(' ');
+            }
+            builder.append(view(i));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The arguments from an index onwards, sharing this list's tokens.
+     *
+     * @param from The index of the first argument
+     * @return The arguments
+     */
+    @NotNull
+    public ArgumentTokens slice(int from) {
+        from = Math.max(0, Math.min(from, size));
+        return new ArgumentTokens(line, bounds, quoted, strings, index, offset + from, size - from);
+    }
+
+    /**
+     * The given arguments, sharing this list's tokens.
+     *
+     * @param indexes The indexes of the arguments to keep, in order
+     * @param count The amount of indexes
+     * @return The arguments
+     */
+    @NotNull
+    public ArgumentTokens select(@NotNull int[] indexes, int count) {
+        if (count == size) {
+            return this;
+        }
+        int[] selected = new int[count];
+        for (int i = 0; i < count; i++) {
+            selected[i] = index[offset + indexes[i]];
+        }
+        return new ArgumentTokens(line, bounds, quoted, strings, selected, 0, count);
+    }
+
+    private int token(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        }
+        return index[offset + i];
+    }
+
+}
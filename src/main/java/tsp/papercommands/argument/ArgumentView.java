@@ -0,0 +1,73 @@
+package tsp.papercommands.argument;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A read-only view over a region of another {@link CharSequence}, used to expose arguments without copying the command line.
+ * {@link #toString()} copies the region.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class ArgumentView implements CharSequence {
+
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+
+    public ArgumentView(@NotNull CharSequence source, int start, int end) {
+        if (start < 0 || end > source.length() || start > end) {
+            throw new IndexOutOfBoundsException("Region " + start + "-" + end + " out of bounds for length " + source.length());
+        }
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return source.charAt(start + index);
+    }
+
+    @NotNull
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException("Region " + start + "-" + end + " out of bounds for length " + length());
+        }
+        return new ArgumentView(source, this.start + start, this.start + end);
+    }
+
+    /**
+     * Whether this view has the same characters as another sequence, without copying.
+     *
+     * @param other The other sequence
+     * @return Whether equal
+     */
+    public boolean contentEquals(@NotNull CharSequence other) {
+        int length = length();
+        if (other.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (source.charAt(start + i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return source.subSequence(start, end).toString();
+    }
+
+}
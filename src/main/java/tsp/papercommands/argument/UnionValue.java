@@ -0,0 +1,58 @@
+package tsp.papercommands.argument;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+
+/**
+ * The value of a union argument, tagged with the member type that parsed it.
+ *
+ * <pre>{@code
+ * UnionValue target = ctx.value("target"); // <target:player|uuid|int>
+ * if (target.is(Player.class)) { ... }
+ * target.as(Integer.class).ifPresent(id -> ...);
+ * }</pre>
+ *
+ * @param index The position of the member type in the union
+ * @param type The member type
+ * @param value The parsed value
+ * @author TheSilentPro (Silent)
+ * @see tsp.papercommands.argument.parser.ArgumentUnion
+ */
+public record UnionValue(int index, @NotNull Class<?> type, @NotNull Object value) {
+
+    /**
+     * Whether the value was parsed as a type.
+     *
+     * @param type The type
+     * @return Whether the value is of the type
+     */
+    public boolean is(@NotNull Class<?> type) {
+        return this.type == type || type.isInstance(value);
+    }
+
+    /**
+     * Get the value as a type.
+     *
+     * @param type The type
+     * @return The value, if it is of the type
+     * @param <T> The type
+     */
+    @NotNull
+    public <T> Optional<T> as(@NotNull Class<T> type) {
+        return type.isInstance(value) ? Optional.of(type.cast(value)) : Optional.empty();
+    }
+
+    /**
+     * Get the value.
+     *
+     * @return The value
+     * @param <T> The type
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <T> T get() {
+        return (T) value;
+    }
+
+}
@@ -0,0 +1,113 @@
+package tsp.papercommands.argument.parser;
+
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An {@link ArgumentParser} for {@link Keyed} types backed by an immutable, lower-cased alias table.
+ * Namespaced keys ({@code minecraft:sharpness}), bare names ({@code sharpness}) and legacy aliases ({@code damage_all})
+ * all map directly to their value, so a parse is a single hash probe.
+ * <p>
+ * The table and its {@link SuggestionIndex} are built on first use, registries are not available before the server starts.
+ * Call {@link #invalidate()} to rebuild them after a registry reload.
+ *
+ * @author TheSilentPro (Silent)
+ * @see ArgumentParsers#invalidateIndexes()
+ */
+public final class AliasIndex<T extends Keyed> implements ArgumentParser<T> {
+
+    private final Supplier<? extends Iterable<? extends T>> values;
+    private final Function<? super T, ? extends Collection<String>> aliases;
+    private volatile Table<T> table;
+
+    /**
+     * Create a parser.
+     *
+     * @param values The supplier of all values of the type, called when the table is (re)built
+     * @param aliases Additional names of a value, e.g. legacy enum names
+     */
+    public AliasIndex(@NotNull Supplier<? extends Iterable<? extends T>> values, @NotNull Function<? super T, ? extends Collection<String>> aliases) {
+        this.values = values;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Create a parser without additional aliases.
+     *
+     * @param values The supplier of all values of the type, called when the table is (re)built
+     */
+    public AliasIndex(@NotNull Supplier<? extends Iterable<? extends T>> values) {
+        this(values, value -> List.of());
+    }
+
+    @Override
+    public Optional<T> parse(String s) {
+        return Optional.ofNullable(table().values.get(s.toLowerCase(Locale.ROOT)));
+    }
+
+    @NotNull
+    @Override
+    public List<String> suggest(@NotNull String input) {
+        return table().suggestions.suggest(input);
+    }
+
+    /**
+     * The amount of names in the table, including namespaced keys and aliases.
+     *
+     * @return The size
+     */
+    public int size() {
+        return table().values.size();
+    }
+
+    /**
+     * Drop the table so that it is rebuilt on the next parse or completion.
+     */
+    public void invalidate() {
+        this.table = null;
+    }
+
+    private Table<T> table() {
+        Table<T> table = this.table;
+        if (table == null) {
+            synchronized (this) {
+                table = this.table;
+                if (table == null) {
+                    table = build();
+                    this.table = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    private Table<T> build() {
+        Map<String, T> values = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        Map<String, T> fallback = new HashMap<>();
+        for (T value : this.values.get()) {
+            NamespacedKey key = value.getKey();
+            keys.add(key.asString());
+            values.put(key.asString(), value);
+            // Bare names prefer the minecraft namespace, other namespaces only fill in names it does not have.
+            if (key.getNamespace().equals(NamespacedKey.MINECRAFT)) {
+                values.put(key.getKey(), value);
+            } else {
+                fallback.putIfAbsent(key.getKey(), value);
+            }
+            for (String alias : aliases.apply(value)) {
+                fallback.putIfAbsent(alias.toLowerCase(Locale.ROOT), value);
+            }
+        }
+        fallback.forEach(values::putIfAbsent);
+        return new Table<>(Map.copyOf(values), SuggestionIndex.of(keys));
+    }
+
+    private record Table<T>(Map<String, T> values, SuggestionIndex suggestions) {}
+
+}
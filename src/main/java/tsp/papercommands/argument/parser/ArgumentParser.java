@@ -3,6 +3,7 @@ package tsp.papercommands.argument.parser;
 import org.jetbrains.annotations.NotNull;
 import tsp.papercommands.argument.Argument;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -54,4 +55,25 @@ public interface ArgumentParser<T> {
         return parseOrFail(argument.value().orElseThrow(() -> new IllegalArgumentException("&cArgument " + argument.index() + " is missing.")));
     }
 
-}
\ No newline at end of file
+    /**
+     * Suggest completions for a partially typed argument.
+     *
+     * @param input The partial input
+     * @return The suggestions, empty if this parser does not know its values
+     */
+    @NotNull
+    default List<String> suggest(@NotNull String input) {
+        return List.of();
+    }
+
+    /**
+     * Whether this parser reads live game state, such as worlds, and may only be used on the main thread.
+     * Asynchronous tab completion falls back to the main thread for such parsers.
+     *
+     * @return Whether this parser is confined to the main thread
+     */
+    default boolean isMainThreadOnly() {
+        return false;
+    }
+
+}
@@ -15,33 +15,69 @@ import org.bukkit.inventory.EquipmentSlotGroup;
 import org.bukkit.inventory.ItemFlag;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.Modifier;
 import java.time.Duration;
 import java.util.*;
 
 /**
  * Represents the main instance for all {@link ArgumentParser parsers}.
  * <bold>Note that parsers should fail when an empty string is provided!</bold>
+ * <p>
+ * Lookups are lock-free and safe from any thread, registration is copy-on-write.
+ * A lookup resolves the nearest registered supertype or interface of a type once and caches it per class.
  *
  * @author TheSilentPro (Silent)
  */
 @SuppressWarnings({"unchecked", "rawtypes"})
 public final class ArgumentParsers {
 
+    /**
+     * Enchantment keys by their legacy Bukkit names.
+     */
+    private static final Map<String, List<String>> LEGACY_ENCHANTMENTS = Map.ofEntries(
+            Map.entry("protection", List.of("protection_environmental")),
+            Map.entry("fire_protection", List.of("protection_fire")),
+            Map.entry("feather_falling", List.of("protection_fall")),
+            Map.entry("blast_protection", List.of("protection_explosions")),
+            Map.entry("projectile_protection", List.of("protection_projectile")),
+            Map.entry("respiration", List.of("oxygen")),
+            Map.entry("aqua_affinity", List.of("water_worker")),
+            Map.entry("sharpness", List.of("damage_all")),
+            Map.entry("smite", List.of("damage_undead")),
+            Map.entry("bane_of_arthropods", List.of("damage_arthropods")),
+            Map.entry("looting", List.of("loot_bonus_mobs")),
+            Map.entry("sweeping_edge", List.of("sweeping")),
+            Map.entry("efficiency", List.of("dig_speed")),
+            Map.entry("unbreaking", List.of("durability")),
+            Map.entry("fortune", List.of("loot_bonus_blocks")),
+            Map.entry("power", List.of("arrow_damage")),
+            Map.entry("punch", List.of("arrow_knockback")),
+            Map.entry("flame", List.of("arrow_fire")),
+            Map.entry("infinity", List.of("arrow_infinite")),
+            Map.entry("luck_of_the_sea", List.of("luck"))
+    );
+
     /**
      * Singleton instance used for accessing the global {@link ArgumentParsers}.
+     * Declared after the static tables the constructor captures, so that they are initialized first.
      */
     public static final ArgumentParsers INSTANCE = new ArgumentParsers();
 
-    private final Map<Class<?>, List<ArgumentParser<?>>> parsers = new HashMap<>();
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(Map.of());
+    private volatile Map<String, Class<?>> types = Map.of();
 
     private ArgumentParsers() {
         register(String.class, Optional::of);
         register(Number.class, NumbersParser::parse);
-        register(Integer.class, NumbersParser::parseInteger);
-        register(Long.class, NumbersParser::parseLong);
+        register(Integer.class, (IntArgumentParser) NumbersParser::parseIntValue);
+        register(Long.class, (LongArgumentParser) NumbersParser::parseLongValue);
         register(Float.class, NumbersParser::parseFloat);
-        register(Double.class, NumbersParser::parseDouble);
+        register(Double.class, (DoubleArgumentParser) NumbersParser::parseDoubleValue);
         register(Byte.class, NumbersParser::parseByte);
+        register(int.class, (IntArgumentParser) NumbersParser::parseIntValue);
+        register(long.class, (LongArgumentParser) NumbersParser::parseLongValue);
+        register(double.class, (DoubleArgumentParser) NumbersParser::parseDoubleValue);
         register(Boolean.class, s -> {
             if (s.equalsIgnoreCase("true") || s.equalsIgnoreCase("yes") || s.equalsIgnoreCase("on")) {
                 return Optional.of(true);
@@ -52,68 +88,91 @@ public final class ArgumentParsers {
             }
         });
         register(Duration.class, DurationParser::parseSafely);
-        register(UUID.class, s -> {
-            try {
-                return Optional.of(UUID.fromString(s));
-            } catch (IllegalArgumentException e) {
-                return Optional.empty();
-            }
-        });
+        register(UUID.class, UUIDParser::parseSafely);
         register(NamespacedKey.class, s -> Optional.ofNullable(NamespacedKey.fromString(s)));
-        register(Component.class, s -> Optional.of(MiniMessage.miniMessage().deserialize(s)));
-        register(Player.class, s -> {
-            try {
-                return Optional.ofNullable(Bukkit.getPlayer(UUID.fromString(s)));
-            } catch (IllegalArgumentException e) {
-                return Optional.ofNullable(Bukkit.getPlayer(s));
+        LiteralCache<Component> components = new LiteralCache<>(256, 256);
+        register(Component.class, s -> Optional.of(components.get(s, MiniMessage.miniMessage()::deserialize)));
+        register(Player.class, new ArgumentParser<>() {
+            @Override
+            public Optional<Player> parse(String s) {
+                PlayerIndex index = PlayerIndex.get().orElse(null);
+                UUID id = UUIDParser.parse(s);
+                if (id != null) {
+                    return Optional.ofNullable(index != null ? index.get(id) : Bukkit.getPlayer(id));
+                }
+                return Optional.ofNullable(index != null ? index.match(s) : Bukkit.getPlayer(s));
             }
-        });
-        register(OfflinePlayer.class, s -> {
-            try {
-                return Optional.of(Bukkit.getOfflinePlayer(UUID.fromString(s)));
-            } catch (IllegalArgumentException e) {
-                return Optional.of(Bukkit.getOfflinePlayer(s));
+
+            // Without an index, suggest nothing so that Bukkit falls back to its own player names.
+            @NotNull
+            @Override
+            public List<String> suggest(@NotNull String input) {
+                return PlayerIndex.get().map(index -> index.suggest(input, SuggestionIndex.DEFAULT_LIMIT)).orElse(List.of());
             }
         });
-        register(World.class, s -> Optional.ofNullable(Bukkit.getWorld(s)));
-        register(Material.class, s -> Optional.ofNullable(Material.matchMaterial(s)));
-        register(Enchantment.class, s -> {
-            NamespacedKey key = NamespacedKey.fromString(s);
-            if (key == null) {
-                return Optional.empty();
+        // Cache-only, names that were never seen resolve through CommandContext#offlinePlayerArg instead of blocking.
+        register(OfflinePlayer.class, s -> OfflinePlayerResolver.get().resolveCached(s));
+        register(World.class, new ArgumentParser<>() {
+            @Override
+            public Optional<World> parse(String s) {
+                return Optional.ofNullable(Bukkit.getWorld(s));
             }
-            return Optional.ofNullable(RegistryAccess.registryAccess().getRegistry(RegistryKey.ENCHANTMENT).get(key));
-        });
-        register(ItemFlag.class, s -> {
-            try {
-                return Optional.of(ItemFlag.valueOf(s.toUpperCase()));
-            } catch (IllegalArgumentException ex) {
-                return Optional.empty();
+
+            // Worlds are few and load at runtime, so they are filtered directly instead of indexed.
+            @NotNull
+            @Override
+            public List<String> suggest(@NotNull String input) {
+                List<String> names = new ArrayList<>();
+                for (World world : Bukkit.getWorlds()) {
+                    if (world.getName().regionMatches(true, 0, input, 0, input.length())) {
+                        names.add(world.getName());
+                    }
+                }
+                names.sort(String.CASE_INSENSITIVE_ORDER);
+                return names;
             }
-        });
 
-        // Attribute parsers
-        register(Attribute.class, s -> {
-            NamespacedKey key = NamespacedKey.fromString(s);
-            if (key == null) {
-                return Optional.empty();
+            @Override
+            public boolean isMainThreadOnly() {
+                return true;
             }
-            return Optional.ofNullable(Registry.ATTRIBUTE.get(key));
         });
-        register(AttributeModifier.Operation.class, s -> {
-            try {
-                return Optional.of(AttributeModifier.Operation.valueOf(s.toUpperCase()));
-            } catch (IllegalArgumentException ex) {
-                return Optional.empty();
+        register(EntitySelector.class, EntitySelector.parser());
+        register(Material.class, new AliasIndex<>(() -> {
+            List<Material> materials = new ArrayList<>();
+            for (Material material : Material.values()) {
+                if (!material.isLegacy()) {
+                    materials.add(material);
+                }
             }
-        });
+            return materials;
+        }));
+        register(Enchantment.class, new AliasIndex<>(
+                () -> RegistryAccess.registryAccess().getRegistry(RegistryKey.ENCHANTMENT),
+                enchantment -> LEGACY_ENCHANTMENTS.getOrDefault(enchantment.getKey().getKey(), List.of())
+        ));
+        registerEnum(ItemFlag.class);
+
+        // Attribute parsers
+        // Attribute keys lost their generic./player. prefix in 1.21.2, the old keys and enum names are kept as aliases.
+        register(Attribute.class, new AliasIndex<>(() -> Registry.ATTRIBUTE, attribute -> {
+            String name = attribute.getKey().getKey();
+            return List.of("generic." + name, "generic_" + name, "player." + name, "player_" + name);
+        }));
+        EnumParser<AttributeModifier.Operation> operations = registerEnum(AttributeModifier.Operation.class);
         //noinspection UnstableApiUsage
-        register(EquipmentSlotGroup.class, s -> {
-            try {
-                //noinspection UnstableApiUsage
-                return Optional.ofNullable(EquipmentSlotGroup.getByName(s.toUpperCase()));
-            } catch (IllegalArgumentException ex) {
-                return Optional.empty();
+        NameTable<EquipmentSlotGroup> slotGroups = slotGroups();
+        //noinspection UnstableApiUsage
+        register(EquipmentSlotGroup.class, new ArgumentParser<>() {
+            @Override
+            public Optional<EquipmentSlotGroup> parse(String s) {
+                return Optional.ofNullable(slotGroups.match(s));
+            }
+
+            @NotNull
+            @Override
+            public List<String> suggest(@NotNull String input) {
+                return slotGroups.complete(input, Integer.MAX_VALUE);
             }
         });
         register(AttributeModifier.class, s -> {
@@ -125,28 +184,24 @@ public final class ArgumentParsers {
                     return Optional.empty();
                 }
 
-                double amount = 0;
-                try {
-                    amount = Integer.parseInt(parts[1]);
-                } catch (NumberFormatException nfe) {
+                OptionalDouble amount = NumbersParser.parseDoubleValue(parts[1]);
+                if (amount.isEmpty()) {
                     return Optional.empty();
                 }
 
-                AttributeModifier.Operation operation;
-                try {
-                    operation = AttributeModifier.Operation.valueOf(parts[2].toUpperCase());
-                } catch (IllegalArgumentException ex) {
+                AttributeModifier.Operation operation = operations.parse(parts[2]).orElse(null);
+                if (operation == null) {
                     return Optional.empty();
                 }
 
                 //noinspection UnstableApiUsage
-                EquipmentSlotGroup slot = EquipmentSlotGroup.getByName(parts[3]);
+                EquipmentSlotGroup slot = slotGroups.get(parts[3]);
                 if (slot == null) {
                     return Optional.empty();
                 }
 
                 //noinspection UnstableApiUsage
-                return Optional.of(new AttributeModifier(key, amount, operation, slot));
+                return Optional.of(new AttributeModifier(key, amount.getAsDouble(), operation, slot));
             }
             return Optional.empty();
         });
@@ -167,36 +222,90 @@ public final class ArgumentParsers {
         register(Range.class, s -> {
             String[] parts = s.split("-");
             if (parts.length == 2) {
-                try {
-                    int start = Integer.parseInt(parts[0]);
-                    int end = Integer.parseInt(parts[1]);
-                    return Optional.of(Range.closed(start, end));
-                } catch (NumberFormatException e) {
-                    return Optional.empty();
+                OptionalInt start = NumbersParser.parseIntValue(parts[0]);
+                OptionalInt end = NumbersParser.parseIntValue(parts[1]);
+                if (start.isPresent() && end.isPresent()) {
+                    return Optional.of(Range.closed(start.getAsInt(), end.getAsInt()));
                 }
             }
             return Optional.empty();
         });
+
+        // Type aliases used by usage strings, e.g. <amount:int>
+        registerType("string", String.class);
+        registerType("number", Number.class);
+        registerType("int", Integer.class);
+        registerType("integer", Integer.class);
+        registerType("long", Long.class);
+        registerType("float", Float.class);
+        registerType("double", Double.class);
+        registerType("byte", Byte.class);
+        registerType("bool", Boolean.class);
+        registerType("boolean", Boolean.class);
+        registerType("duration", Duration.class);
+        registerType("uuid", UUID.class);
+        registerType("key", NamespacedKey.class);
+        registerType("component", Component.class);
+        registerType("player", Player.class);
+        registerType("offlineplayer", OfflinePlayer.class);
+        registerType("world", World.class);
+        registerType("selector", EntitySelector.class);
+        registerType("entities", EntitySelector.class);
+        registerType("material", Material.class);
+        registerType("enchantment", Enchantment.class);
+        registerType("itemflag", ItemFlag.class);
+        registerType("attribute", Attribute.class);
+        registerType("operation", AttributeModifier.Operation.class);
+        registerType("slot", EquipmentSlotGroup.class);
+        registerType("modifier", AttributeModifier.class);
+        registerType("tristate", TriState.class);
+        registerType("range", Range.class);
     }
 
+    /**
+     * Find the first parser for a type.
+     * If the type itself has no parser, its supertypes and interfaces are searched.
+     * For a concrete type, values of a supertype parser that are not instances of the type are rejected.
+     *
+     * @param type The class type
+     * @return The parser, if present
+     * @param <T> The type
+     */
     @NotNull
     public <T> Optional<ArgumentParser<T>> find(@NotNull Class<T> type) {
-        List<ArgumentParser<?>> parsers = this.parsers.get(type);
-        if (parsers == null || parsers.isEmpty()) {
+        List<ArgumentParser<?>> parsers = this.snapshot.resolved.get(type);
+        if (parsers.isEmpty()) {
             return Optional.empty();
         }
 
         return Optional.of((ArgumentParser<T>) parsers.get(0));
     }
 
+    /**
+     * Find all parsers for a type.
+     * If the type itself has no parser, its supertypes and interfaces are searched.
+     * For a concrete type, values of a supertype parser that are not instances of the type are rejected.
+     *
+     * @param type The class type
+     * @return The parsers
+     * @param <T> The type
+     */
     @NotNull
     public <T> Collection<ArgumentParser<T>> findAll(@NotNull Class<T> type) {
-        List<ArgumentParser<?>> parsers = this.parsers.get(type);
-        if (parsers == null || parsers.isEmpty()) {
-            return List.of();
-        }
+        return (Collection) this.snapshot.resolved.get(type);
+    }
 
-        return (Collection) Collections.unmodifiableList(parsers);
+    /**
+     * Suggest completions for a partially typed argument of a type.
+     *
+     * @param type The class type
+     * @param input The partial input
+     * @return The suggestions, empty if there is no parser or it does not know its values
+     */
+    @NotNull
+    public List<String> suggest(@NotNull Class<?> type, @NotNull String input) {
+        List<ArgumentParser<?>> parsers = this.snapshot.resolved.get(type);
+        return parsers.isEmpty() ? List.of() : parsers.get(0).suggest(input);
     }
 
     /**
@@ -207,10 +316,197 @@ public final class ArgumentParsers {
      * @param <T> The type
      */
     public <T> void register(@NotNull Class<T> type, @NotNull ArgumentParser<T> parser) {
-        List<ArgumentParser<?>> list = this.parsers.computeIfAbsent(type, t -> new ArrayList<>());
-        if (!list.contains(parser)) {
-            list.add(parser);
+        synchronized (this.lock) {
+            Map<Class<?>, List<ArgumentParser<?>>> parsers = this.snapshot.parsers;
+            List<ArgumentParser<?>> list = parsers.getOrDefault(type, List.of());
+            if (list.contains(parser)) {
+                return;
+            }
+
+            List<ArgumentParser<?>> copy = new ArrayList<>(list.size() + 1);
+            copy.addAll(list);
+            copy.add(parser);
+
+            Map<Class<?>, List<ArgumentParser<?>>> updated = new HashMap<>(parsers);
+            updated.put(type, List.copyOf(copy));
+            // Publishing a new snapshot also drops every cached resolution.
+            this.snapshot = new Snapshot(Map.copyOf(updated));
+        }
+    }
+
+    /**
+     * Remove all parsers registered for a class type.
+     * Subtypes that resolved to it fall back to their next registered supertype.
+     *
+     * @param type The class type
+     * @return Whether any parser was removed
+     */
+    public boolean unregister(@NotNull Class<?> type) {
+        synchronized (this.lock) {
+            Map<Class<?>, List<ArgumentParser<?>>> parsers = this.snapshot.parsers;
+            if (!parsers.containsKey(type)) {
+                return false;
+            }
+
+            Map<Class<?>, List<ArgumentParser<?>>> updated = new HashMap<>(parsers);
+            updated.remove(type);
+            this.snapshot = new Snapshot(Map.copyOf(updated));
+            return true;
+        }
+    }
+
+    /**
+     * Register a case-insensitive {@link EnumParser} for an enum type.
+     *
+     * @param type The enum type
+     * @return The registered parser
+     * @param <E> The enum type
+     */
+    @NotNull
+    public <E extends Enum<E>> EnumParser<E> registerEnum(@NotNull Class<E> type) {
+        EnumParser<E> parser = EnumParser.of(type);
+        register(type, parser);
+        return parser;
+    }
+
+    /**
+     * Register a case-insensitive {@link EnumParser} for an enum type with additional aliases.
+     *
+     * @param type The enum type
+     * @param aliases Additional names, case-insensitive
+     * @return The registered parser
+     * @param <E> The enum type
+     */
+    @NotNull
+    public <E extends Enum<E>> EnumParser<E> registerEnum(@NotNull Class<E> type, @NotNull Map<String, E> aliases) {
+        EnumParser<E> parser = EnumParser.of(type, aliases);
+        register(type, parser);
+        return parser;
+    }
+
+    /**
+     * Drop the lookup and suggestion indexes of registry-backed parsers so that they are rebuilt on next use,
+     * e.g. after the server reloaded its data packs.
+     */
+    public void invalidateIndexes() {
+        for (List<ArgumentParser<?>> parsers : this.snapshot.parsers.values()) {
+            for (ArgumentParser<?> parser : parsers) {
+                if (parser instanceof AliasIndex<?> index) {
+                    index.invalidate();
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    private static NameTable<EquipmentSlotGroup> slotGroups() {
+        NameTable.Builder<EquipmentSlotGroup> builder = NameTable.builder();
+        for (EquipmentSlotGroup group : new EquipmentSlotGroup[]{
+                EquipmentSlotGroup.ANY, EquipmentSlotGroup.MAINHAND, EquipmentSlotGroup.OFFHAND, EquipmentSlotGroup.HAND,
+                EquipmentSlotGroup.FEET, EquipmentSlotGroup.LEGS, EquipmentSlotGroup.CHEST, EquipmentSlotGroup.HEAD,
+                EquipmentSlotGroup.ARMOR, EquipmentSlotGroup.BODY}) {
+            builder.add(group.toString(), group);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Find the type registered under an alias.
+     *
+     * @param alias The alias, case-insensitive
+     * @return The type, if present
+     */
+    @NotNull
+    public Optional<Class<?>> findType(@NotNull String alias) {
+        return Optional.ofNullable(this.types.get(alias.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Register an alias for a type, used by usage strings such as {@code <amount:int>}.
+     *
+     * @param alias The alias, case-insensitive
+     * @param type The class type
+     */
+    public void registerType(@NotNull String alias, @NotNull Class<?> type) {
+        synchronized (this.lock) {
+            Map<String, Class<?>> updated = new HashMap<>(this.types);
+            updated.put(alias.toLowerCase(Locale.ROOT), type);
+            this.types = Map.copyOf(updated);
+        }
+    }
+
+    /**
+     * An immutable snapshot of the registered parsers with its own resolution cache.
+     */
+    private static final class Snapshot {
+
+        private final Map<Class<?>, List<ArgumentParser<?>>> parsers;
+        private final ClassValue<List<ArgumentParser<?>>> resolved = new ClassValue<>() {
+            @Override
+            protected List<ArgumentParser<?>> computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+
+        private Snapshot(Map<Class<?>, List<ArgumentParser<?>>> parsers) {
+            this.parsers = parsers;
+        }
+
+        /**
+         * Breadth-first walk over the type hierarchy, the nearest registered type wins.
+         * Superclasses are visited before interfaces at the same depth.
+         */
+        private List<ArgumentParser<?>> resolve(Class<?> type) {
+            Deque<Class<?>> queue = new ArrayDeque<>();
+            Set<Class<?>> visited = new HashSet<>();
+            queue.add(type);
+            while (!queue.isEmpty()) {
+                Class<?> current = queue.poll();
+                if (!visited.add(current)) {
+                    continue;
+                }
+
+                List<ArgumentParser<?>> list = this.parsers.get(current);
+                if (list != null) {
+                    return current == type || type.isInterface() || Modifier.isAbstract(type.getModifiers()) ? list : checked(type, list);
+                }
+
+                if (current.getSuperclass() != null) {
+                    queue.add(current.getSuperclass());
+                }
+                Collections.addAll(queue, current.getInterfaces());
+            }
+            return List.of();
         }
+
+        /**
+         * A supertype parser may produce values that are not instances of a concrete type,
+         * e.g. the {@link Number} parser for {@link Short}. Such values are treated as unparsable.
+         */
+        private static List<ArgumentParser<?>> checked(Class<?> type, List<ArgumentParser<?>> parsers) {
+            List<ArgumentParser<?>> checked = new ArrayList<>(parsers.size());
+            for (ArgumentParser<?> parser : parsers) {
+                checked.add(new ArgumentParser<Object>() {
+                    @Override
+                    public Optional<Object> parse(String s) {
+                        return ((ArgumentParser<Object>) parser).parse(s).filter(type::isInstance);
+                    }
+
+                    @NotNull
+                    @Override
+                    public List<String> suggest(@NotNull String input) {
+                        return parser.suggest(input);
+                    }
+
+                    @Override
+                    public boolean isMainThreadOnly() {
+                        return parser.isMainThreadOnly();
+                    }
+                });
+            }
+            return List.copyOf(checked);
+        }
+
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+import tsp.papercommands.argument.UnionValue;
+
+import java.util.*;
+
+/**
+ * A parser accepting any of several types, e.g. a player, a UUID or an id: {@code <target:player|uuid|int>}.
+ * <p>
+ * The token is {@link TokenShape#classify(CharSequence) classified} once and only handed to the members whose parser
+ * can accept its shape, in declaration order. Instead of trying every parser in turn, most tokens reach exactly one.
+ * The result is a {@link UnionValue} tagged with the member that parsed it.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class ArgumentUnion implements ArgumentParser<UnionValue> {
+
+    private final Class<?>[] types;
+    private final ArgumentParser<?>[] parsers;
+    private final int[] shapes;
+
+    private ArgumentUnion(Class<?>[] types, ArgumentParser<?>[] parsers, int[] shapes) {
+        this.types = types;
+        this.parsers = parsers;
+        this.shapes = shapes;
+    }
+
+    /**
+     * Create a union of types, using their registered parsers and {@link TokenShape#accepted(Class) shapes}.
+     *
+     * @param types The types, earlier types win when several can parse a token
+     * @return The union
+     * @throws IllegalArgumentException If a type has no parser
+     */
+    @NotNull
+    public static ArgumentUnion of(@NotNull Class<?>... types) throws IllegalArgumentException {
+        Builder builder = builder();
+        for (Class<?> type : types) {
+            builder.with(type);
+        }
+        return builder.build();
+    }
+
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Optional<UnionValue> parse(String s) {
+        int shape = TokenShape.classify(s);
+        if (shape == 0) {
+            return Optional.empty();
+        }
+
+        for (int i = 0; i < parsers.length; i++) {
+            if ((shapes[i] & shape) != 0) {
+                Optional<?> value = parsers[i].parse(s);
+                if (value.isPresent()) {
+                    return Optional.of(new UnionValue(i, types[i], value.get()));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @NotNull
+    @Override
+    public List<String> suggest(@NotNull String input) {
+        Set<String> suggestions = new LinkedHashSet<>();
+        for (ArgumentParser<?> parser : parsers) {
+            suggestions.addAll(parser.suggest(input));
+        }
+        return new ArrayList<>(suggestions);
+    }
+
+    @Override
+    public boolean isMainThreadOnly() {
+        for (ArgumentParser<?> parser : parsers) {
+            if (parser.isMainThreadOnly()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The member types, in declaration order.
+     *
+     * @return The types
+     */
+    @NotNull
+    public List<Class<?>> types() {
+        return List.of(types);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner("|");
+        for (Class<?> type : types) {
+            joiner.add(type.getSimpleName());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Builder for {@link ArgumentUnion}.
+     */
+    public static final class Builder {
+
+        private final List<Class<?>> types = new ArrayList<>();
+        private final List<ArgumentParser<?>> parsers = new ArrayList<>();
+        private final List<Integer> shapes = new ArrayList<>();
+
+        private Builder() {}
+
+        /**
+         * Add a type with its registered parser and {@link TokenShape#accepted(Class) shapes}.
+         *
+         * @param type The type
+         * @return This builder
+         * @throws IllegalArgumentException If the type has no parser
+         */
+        @NotNull
+        public Builder with(@NotNull Class<?> type) throws IllegalArgumentException {
+            ArgumentParser<?> parser = ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new IllegalArgumentException("Unable to find ArgumentParser for " + type));
+            return add(type, parser, TokenShape.accepted(type));
+        }
+
+        /**
+         * Add a type with a custom parser.
+         *
+         * @param type The type
+         * @param parser The parser
+         * @param shapes The {@link TokenShape shapes} the parser can accept, {@link TokenShape#ANY} if unknown
+         * @return This builder
+         * @param <T> The type
+         */
+        @NotNull
+        public <T> Builder with(@NotNull Class<T> type, @NotNull ArgumentParser<? extends T> parser, int shapes) {
+            return add(type, parser, shapes);
+        }
+
+        private Builder add(Class<?> type, ArgumentParser<?> parser, int shapes) {
+            if (this.types.contains(type)) {
+                throw new IllegalArgumentException("Duplicate union type: " + type);
+            }
+            this.types.add(type);
+            this.parsers.add(parser);
+            this.shapes.add(shapes);
+            return this;
+        }
+
+        @NotNull
+        public ArgumentUnion build() {
+            if (types.isEmpty()) {
+                throw new IllegalArgumentException("A union needs at least one type");
+            }
+            int[] shapes = new int[this.shapes.size()];
+            for (int i = 0; i < shapes.length; i++) {
+                shapes[i] = this.shapes.get(i);
+            }
+            return new ArgumentUnion(types.toArray(new Class<?>[0]), parsers.toArray(new ArgumentParser<?>[0]), shapes);
+        }
+
+    }
+
+}
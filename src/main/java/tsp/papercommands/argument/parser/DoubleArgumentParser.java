@@ -0,0 +1,35 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * A primitive specialization of {@link ArgumentParser} for {@code double} values.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@FunctionalInterface
+public interface DoubleArgumentParser extends ArgumentParser<Double> {
+
+    /**
+     * Parses the given characters without boxing.
+     *
+     * @param s The argument characters
+     * @return The parsed value, if present
+     */
+    @NotNull
+    OptionalDouble parseDouble(@NotNull CharSequence s);
+
+    @Override
+    default Optional<Double> parse(String s) {
+        if (s == null) {
+            return Optional.empty();
+        }
+
+        OptionalDouble result = parseDouble(s);
+        return result.isPresent() ? Optional.of(result.getAsDouble()) : Optional.empty();
+    }
+
+}
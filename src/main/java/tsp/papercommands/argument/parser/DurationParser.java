@@ -1,70 +1,56 @@
 package tsp.papercommands.argument.parser;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
-import java.time.temporal.ChronoUnit;
-import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
- * Parses durations from a string format
+ * Parses durations from a string format, e.g. {@code 1d2h30m}, {@code 2 weeks, 3 days} or {@code 90} (seconds).
+ * The input is scanned in a single pass against a fixed unit table, failures never throw.
  */
 public final class DurationParser {
 
     private DurationParser() {}
 
-    private static final Map<ChronoUnit, String> UNITS_PATTERNS = Map.of(
-            ChronoUnit.YEARS, "y(?:ear)?s?",
-            ChronoUnit.MONTHS, "mo(?:nth)?s?",
-            ChronoUnit.WEEKS, "w(?:eek)?s?",
-            ChronoUnit.DAYS, "d(?:ay)?s?",
-            ChronoUnit.HOURS, "h(?:our|r)?s?",
-            ChronoUnit.MINUTES, "m(?:inute|in)?s?",
-            ChronoUnit.SECONDS, "(?:s(?:econd|ec)?s?)?"
-    );
-
-    private static final ChronoUnit[] UNITS = UNITS_PATTERNS.keySet().toArray(new ChronoUnit[0]);
-
-    private static final String PATTERN_STRING = UNITS_PATTERNS.values().stream()
-            .map(pattern -> "(?:(\\d+)\\s*" + pattern + "[,\\s]*)?")
-            .collect(Collectors.joining());
-
-    private static final Pattern PATTERN = Pattern.compile(PATTERN_STRING, Pattern.CASE_INSENSITIVE);
+    private static final long MINUTE = 60;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final long WEEK = 7 * DAY;
+    private static final long YEAR = 31_556_952; // 365.2425 days, same as ChronoUnit.YEARS
+    private static final long MONTH = YEAR / 12; // Same as ChronoUnit.MONTHS
+
+    private static final String[] UNIT_NAMES = {
+            "y", "ys", "year", "years",
+            "mo", "mos", "month", "months",
+            "w", "ws", "week", "weeks",
+            "d", "ds", "day", "days",
+            "h", "hs", "hr", "hrs", "hour", "hours",
+            "m", "ms", "min", "mins", "minute", "minutes",
+            "s", "ss", "sec", "secs", "second", "seconds"
+    };
+
+    private static final long[] UNIT_SECONDS = {
+            YEAR, YEAR, YEAR, YEAR,
+            MONTH, MONTH, MONTH, MONTH,
+            WEEK, WEEK, WEEK, WEEK,
+            DAY, DAY, DAY, DAY,
+            HOUR, HOUR, HOUR, HOUR, HOUR, HOUR,
+            MINUTE, MINUTE, MINUTE, MINUTE, MINUTE, MINUTE,
+            1, 1, 1, 1, 1, 1
+    };
+
+    private static final LiteralCache<Duration> CACHE = new LiteralCache<>(256, 32);
 
     public static Duration parse(String input) throws IllegalArgumentException {
-        Matcher matcher = PATTERN.matcher(input);
-        Duration totalDuration = Duration.ZERO;
-
-        while (matcher.find()) {
-            if (matcher.group() == null || matcher.group().isEmpty()) {
-                continue;
-            }
-
-            for (int i = 0; i < UNITS.length; i++) {
-                ChronoUnit unit = UNITS[i];
-                int g = i + 1;
-
-                if (matcher.group(g) != null && !matcher.group(g).isEmpty()) {
-                    int n = Integer.parseInt(matcher.group(g));
-                    if (n > 0) {
-                        totalDuration = totalDuration.plus(unit.getDuration().multipliedBy(n));
-                    }
-                }
-            }
-        }
-
-        if (totalDuration.isZero()) {
+        Duration duration = input != null ? CACHE.get(input, DurationParser::scan) : null;
+        if (duration == null) {
             throw new IllegalArgumentException("Unable to parse duration: " + input);
         }
-
-        return totalDuration;
+        return duration;
     }
 
-
     /**
      * Attempts to parse a {@link Duration} and returns the
      * result as an {@link Optional}-wrapped object.
@@ -74,11 +60,107 @@ public final class DurationParser {
      */
     @NotNull
     public static Optional<Duration> parseSafely(String input) {
-        try {
-            return Optional.of(parse(input));
-        } catch (IllegalArgumentException ignored) {
+        if (input == null) {
             return Optional.empty();
         }
+        return Optional.ofNullable(CACHE.get(input, DurationParser::scan));
+    }
+
+    /**
+     * Formats a duration in the compact syntax accepted by {@link #parse(String)}, e.g. {@code 1d2h30m}.
+     * Only days, hours, minutes and seconds are used, so the output parses back to the duration truncated to whole seconds.
+     *
+     * @param duration The duration, at least one second
+     * @return The formatted duration
+     * @throws IllegalArgumentException If the duration is shorter than one second, which {@link #parse(String)} rejects
+     */
+    @NotNull
+    public static String format(@NotNull Duration duration) throws IllegalArgumentException {
+        long seconds = duration.getSeconds();
+        if (seconds < 1) {
+            throw new IllegalArgumentException("Unable to format duration shorter than one second: " + duration);
+        }
+
+        StringBuilder builder = new StringBuilder(16);
+        seconds = append(builder, seconds, DAY, 'd');
+        seconds = append(builder, seconds, HOUR, 'h');
+        seconds = append(builder, seconds, MINUTE, 'm');
+        append(builder, seconds, 1, 's');
+        return builder.toString();
+    }
+
+    private static long append(StringBuilder builder, long seconds, long unit, char suffix) {
+        long amount = seconds / unit;
+        if (amount > 0) {
+            builder.append(amount).append(suffix);
+        }
+        return seconds % unit;
+    }
+
+    /**
+     * Single pass lexer: {@code (number [whitespace] [unit] [separators])+}, a number without a unit is in seconds.
+     *
+     * @return The duration, or null if the input is malformed or zero
+     */
+    @Nullable
+    private static Duration scan(@NotNull String input) {
+        int length = input.length();
+        int i = 0;
+        long total = 0;
+        while (true) {
+            // Separators between components
+            while (i < length && (input.charAt(i) == ',' || Character.isWhitespace(input.charAt(i)))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+
+            // Amount
+            long amount = 0;
+            int start = i;
+            while (i < length && input.charAt(i) >= '0' && input.charAt(i) <= '9') {
+                if (amount > (Long.MAX_VALUE - 9) / 10) {
+                    return null;
+                }
+                amount = amount * 10 + (input.charAt(i++) - '0');
+            }
+            if (i == start) {
+                return null;
+            }
+
+            while (i < length && Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+
+            // Unit
+            start = i;
+            while (i < length && isLetter(input.charAt(i))) {
+                i++;
+            }
+            long unit = start == i ? 1 : unitSeconds(input, start, i);
+            if (unit == -1 || (amount > 0 && amount > (Long.MAX_VALUE - total) / unit)) {
+                return null;
+            }
+            total += amount * unit;
+        }
+
+        return total > 0 ? Duration.ofSeconds(total) : null;
+    }
+
+    private static long unitSeconds(String input, int start, int end) {
+        int length = end - start;
+        for (int i = 0; i < UNIT_NAMES.length; i++) {
+            String name = UNIT_NAMES[i];
+            if (name.length() == length && input.regionMatches(true, start, name, 0, length)) {
+                return UNIT_SECONDS[i];
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
     }
 
-}
\ No newline at end of file
+}
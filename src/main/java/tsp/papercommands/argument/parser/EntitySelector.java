@@ -0,0 +1,525 @@
+package tsp.papercommands.argument.parser;
+
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.World;
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * A compiled entity selector, e.g. {@code @a}, {@code @p}, {@code @r}, {@code @s} or {@code @e[type=zombie,distance=..10,limit=5,sort=nearest]}.
+ * A player name or UUID selects that player or entity.
+ * <p>
+ * A selector is compiled once into an immutable plan and {@link #parser() cached} by its text, every {@link #select(CommandSender)}
+ * only evaluates the plan. Filters are ordered from cheapest to most expensive. When a distance or volume bounds the selection,
+ * only the entity sections of the sender's world overlapping those bounds are visited instead of every loaded entity,
+ * and a {@code type} narrows the scan to entities of that class.
+ * <p>
+ * Supported options: {@code type}, {@code name}, {@code tag}, {@code gamemode}, {@code level}, {@code distance},
+ * {@code x}, {@code y}, {@code z}, {@code dx}, {@code dy}, {@code dz}, {@code limit} and {@code sort}.
+ * {@code type}, {@code name}, {@code tag} and {@code gamemode} can be negated with {@code !}. Ranges use {@code min..max}.
+ * Selectors may not contain spaces.
+ * <p>
+ * Selecting reads live entities and must happen on the main thread.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class EntitySelector {
+
+    private static final LiteralCache<EntitySelector> CACHE = new LiteralCache<>(256, 256);
+    private static final List<String> VARIABLES = List.of("@a", "@e", "@p", "@r", "@s");
+
+    private static final ArgumentParser<EntitySelector> PARSER = new ArgumentParser<>() {
+        @Override
+        public Optional<EntitySelector> parse(String s) {
+            if (s.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(CACHE.get(s, input -> {
+                try {
+                    return compile(input);
+                } catch (IllegalArgumentException ex) {
+                    return null;
+                }
+            }));
+        }
+
+        @NotNull
+        @Override
+        public List<String> suggest(@NotNull String input) {
+            if (input.startsWith("@")) {
+                List<String> suggestions = new ArrayList<>();
+                for (String variable : VARIABLES) {
+                    if (variable.startsWith(input)) {
+                        suggestions.add(variable);
+                    }
+                }
+                return suggestions;
+            }
+            return ArgumentParsers.INSTANCE.suggest(Player.class, input);
+        }
+    };
+
+    /**
+     * Cost ranks of the filters, cheaper filters run first.
+     */
+    private static final int COST_TYPE = 0;
+    private static final int COST_GAMEMODE = 1;
+    private static final int COST_LEVEL = 2;
+    private static final int COST_TAG = 3;
+    private static final int COST_NAME = 4;
+
+    private final String input;
+    private final Kind kind;
+    @Nullable
+    private final String target; // Name or UUID for Kind.TARGET
+    private final Predicate<Entity>[] filters;
+    private final boolean playersOnly;
+    @Nullable
+    private final EntityType type;
+    private final double x, y, z; // NaN when relative to the sender
+    private final double minDistanceSquared, maxDistanceSquared; // -1 and +Infinity when unbounded
+    private final boolean distance;
+    private final double dx, dy, dz; // NaN when not given
+    private final int limit;
+    private final Sort sort;
+
+    private EntitySelector(String input, Kind kind, @Nullable String target, Predicate<Entity>[] filters, boolean playersOnly, @Nullable EntityType type,
+                           double x, double y, double z, double minDistance, double maxDistance, boolean distance,
+                           double dx, double dy, double dz, int limit, Sort sort) {
+        this.input = input;
+        this.kind = kind;
+        this.target = target;
+        this.filters = filters;
+        this.playersOnly = playersOnly;
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.minDistanceSquared = minDistance < 0 ? -1 : minDistance * minDistance;
+        this.maxDistanceSquared = maxDistance == Double.POSITIVE_INFINITY ? Double.POSITIVE_INFINITY : maxDistance * maxDistance;
+        this.distance = distance;
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.limit = limit;
+        this.sort = sort;
+    }
+
+    /**
+     * The cached parser of selectors, registered for {@link EntitySelector} in {@link ArgumentParsers}.
+     *
+     * @return The parser
+     */
+    @NotNull
+    public static ArgumentParser<EntitySelector> parser() {
+        return PARSER;
+    }
+
+    /**
+     * Compile a selector without caching it.
+     *
+     * @param input The selector
+     * @return The selector
+     * @throws IllegalArgumentException If the selector is invalid
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static EntitySelector compile(@NotNull String input) throws IllegalArgumentException {
+        if (input.isEmpty() || input.indexOf(' ') != -1) {
+            throw new IllegalArgumentException("Invalid selector: " + input);
+        }
+        if (input.charAt(0) != '@') {
+            return new EntitySelector(input, Kind.TARGET, input, new Predicate[0], UUIDParser.parse(input) == null, null,
+                    Double.NaN, Double.NaN, Double.NaN, -1, Double.POSITIVE_INFINITY, false, Double.NaN, Double.NaN, Double.NaN, 1, Sort.ARBITRARY);
+        }
+
+        Kind kind = input.length() >= 2 ? Kind.of(input.charAt(1)) : null;
+        if (kind == null || (input.length() > 2 && (input.charAt(2) != '[' || !input.endsWith("]")))) {
+            throw new IllegalArgumentException("Invalid selector: " + input);
+        }
+
+        boolean playersOnly = kind == Kind.ALL_PLAYERS || kind == Kind.NEAREST_PLAYER || kind == Kind.RANDOM_PLAYER;
+        int limit = kind == Kind.NEAREST_PLAYER || kind == Kind.RANDOM_PLAYER || kind == Kind.SELF ? 1 : Integer.MAX_VALUE;
+        Sort sort = kind == Kind.NEAREST_PLAYER ? Sort.NEAREST : kind == Kind.RANDOM_PLAYER ? Sort.RANDOM : Sort.ARBITRARY;
+        EntityType type = null;
+        double x = Double.NaN, y = Double.NaN, z = Double.NaN, dx = Double.NaN, dy = Double.NaN, dz = Double.NaN;
+        double minDistance = -1, maxDistance = Double.POSITIVE_INFINITY;
+        boolean distance = false;
+        List<Filter> filters = new ArrayList<>();
+
+        String body = input.length() > 2 ? input.substring(3, input.length() - 1) : "";
+        for (String option : body.isEmpty() ? new String[0] : body.split(",", -1)) {
+            int equals = option.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Invalid selector option: " + option);
+            }
+            String key = option.substring(0, equals).toLowerCase(Locale.ROOT);
+            String value = option.substring(equals + 1);
+            boolean negated = value.startsWith("!");
+            String operand = negated ? value.substring(1) : value;
+
+            switch (key) {
+                case "type" -> {
+                    EntityType entityType = entityType(operand);
+                    if (negated) {
+                        filters.add(new Filter(COST_TYPE, entity -> entity.getType() != entityType));
+                    } else {
+                        if (type != null) {
+                            throw new IllegalArgumentException("Only one type may be selected: " + input);
+                        }
+                        type = entityType;
+                        filters.add(new Filter(COST_TYPE, entity -> entity.getType() == entityType));
+                    }
+                }
+                case "name" -> {
+                    String name = unquote(operand);
+                    filters.add(new Filter(COST_NAME, entity -> name.equals(entity.getName()) != negated));
+                }
+                case "tag" -> {
+                    if (operand.isEmpty()) {
+                        filters.add(new Filter(COST_TAG, entity -> entity.getScoreboardTags().isEmpty() != negated));
+                    } else {
+                        filters.add(new Filter(COST_TAG, entity -> entity.getScoreboardTags().contains(operand) != negated));
+                    }
+                }
+                case "gamemode" -> {
+                    GameMode mode = gameMode(operand);
+                    filters.add(new Filter(COST_GAMEMODE, entity -> entity instanceof Player player && (player.getGameMode() == mode) != negated));
+                }
+                case "level" -> {
+                    double[] range = range(operand);
+                    filters.add(new Filter(COST_LEVEL, entity -> entity instanceof Player player && player.getLevel() >= range[0] && player.getLevel() <= range[1]));
+                }
+                case "distance" -> {
+                    double[] range = range(operand);
+                    if (range[0] < 0) {
+                        throw new IllegalArgumentException("Distance can not be negative: " + input);
+                    }
+                    minDistance = range[0];
+                    maxDistance = range[1];
+                    distance = true;
+                }
+                case "x" -> x = number(operand);
+                case "y" -> y = number(operand);
+                case "z" -> z = number(operand);
+                case "dx" -> dx = number(operand);
+                case "dy" -> dy = number(operand);
+                case "dz" -> dz = number(operand);
+                case "limit" -> {
+                    limit = (int) number(operand);
+                    if (limit < 1 || kind == Kind.SELF) {
+                        throw new IllegalArgumentException("Invalid limit: " + input);
+                    }
+                }
+                case "sort" -> {
+                    try {
+                        sort = Sort.valueOf(operand.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException ex) {
+                        throw new IllegalArgumentException("Invalid sort: " + operand, ex);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unsupported selector option: " + key);
+            }
+        }
+
+        if (type == EntityType.PLAYER) {
+            playersOnly = true;
+        }
+        // Distances and volumes are checked last, bounded selections are already pruned to their region.
+        filters.sort(Comparator.comparingInt(Filter::cost));
+        Predicate<Entity>[] compiled = new Predicate[filters.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = filters.get(i).predicate();
+        }
+        return new EntitySelector(input, kind, null, compiled, playersOnly, type, x, y, z, minDistance, maxDistance, distance, dx, dy, dz, limit, sort);
+    }
+
+    /**
+     * Select the matching entities.
+     *
+     * @param sender The sender, the origin of distances and relative positions
+     * @return The entities, in the order of the selector's sort
+     */
+    @NotNull
+    public List<Entity> select(@NotNull CommandSender sender) {
+        if (kind == Kind.TARGET) {
+            return selectTarget();
+        }
+        if (kind == Kind.SELF) {
+            return sender instanceof Entity entity && matches(entity, origin(sender)) ? List.of(entity) : List.of();
+        }
+
+        Location origin = origin(sender);
+        List<Entity> selected = new ArrayList<>();
+        // Stop early when the order does not matter
+        int cap = sort == Sort.ARBITRARY ? limit : Integer.MAX_VALUE;
+        BoundingBox bounds = bounds(origin);
+        if (bounds != null) {
+            World world = origin.getWorld();
+            for (Entity entity : world.getNearbyEntities(bounds, entity -> !playersOnly || entity instanceof Player)) {
+                if (matches(entity, origin)) {
+                    selected.add(entity);
+                    if (selected.size() >= cap) {
+                        break;
+                    }
+                }
+            }
+        } else {
+            // Positions without bounds still restrict the selection to the sender's world, like vanilla.
+            Collection<World> worlds = isLocal() ? List.of(origin.getWorld()) : Bukkit.getWorlds();
+            for (World world : worlds) {
+                if (collect(candidates(world), origin, selected, cap)) {
+                    break;
+                }
+            }
+        }
+
+        return order(selected, origin);
+    }
+
+    /**
+     * Select the matching players, ignoring other entities.
+     *
+     * @param sender The sender
+     * @return The players
+     */
+    @NotNull
+    public List<Player> selectPlayers(@NotNull CommandSender sender) {
+        List<Player> players = new ArrayList<>();
+        for (Entity entity : select(sender)) {
+            if (entity instanceof Player player) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Whether this selector only selects players.
+     *
+     * @return Whether players only
+     */
+    public boolean isPlayersOnly() {
+        return playersOnly;
+    }
+
+    /**
+     * Whether this selector selects at most one entity.
+     *
+     * @return Whether single
+     */
+    public boolean isSingle() {
+        return limit == 1;
+    }
+
+    private List<Entity> selectTarget() {
+        UUID id = UUIDParser.parse(target);
+        if (id != null) {
+            Entity entity = Bukkit.getEntity(id);
+            return entity != null ? List.of(entity) : List.of();
+        }
+        return ArgumentParsers.INSTANCE.find(Player.class)
+                .flatMap(parser -> parser.parse(target))
+                .<List<Entity>>map(List::of)
+                .orElse(List.of());
+    }
+
+    private Iterable<? extends Entity> candidates(World world) {
+        if (playersOnly) {
+            return world.getPlayers();
+        }
+        if (type != null && type.getEntityClass() != null) {
+            return world.getEntitiesByClass(type.getEntityClass());
+        }
+        return world.getEntities();
+    }
+
+    /**
+     * @return Whether the cap was reached
+     */
+    private boolean collect(Iterable<? extends Entity> candidates, Location origin, List<Entity> selected, int cap) {
+        for (Entity entity : candidates) {
+            if (matches(entity, origin)) {
+                selected.add(entity);
+                if (selected.size() >= cap) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(Entity entity, Location origin) {
+        for (Predicate<Entity> filter : filters) {
+            if (!filter.test(entity)) {
+                return false;
+            }
+        }
+        if (distance) {
+            if (entity.getWorld() != origin.getWorld()) {
+                return false;
+            }
+            double squared = entity.getLocation().distanceSquared(origin);
+            if (squared < minDistanceSquared || squared > maxDistanceSquared) {
+                return false;
+            }
+        }
+        return !hasVolume() || (entity.getWorld() == origin.getWorld() && entity.getBoundingBox().overlaps(volume(origin)));
+    }
+
+    private List<Entity> order(List<Entity> selected, Location origin) {
+        switch (sort) {
+            case NEAREST, FURTHEST -> {
+                Comparator<Entity> nearest = Comparator.comparingDouble(entity -> entity.getLocation().distanceSquared(origin));
+                selected.sort(sort == Sort.NEAREST ? nearest : nearest.reversed());
+            }
+            case RANDOM -> Collections.shuffle(selected, ThreadLocalRandom.current());
+            case ARBITRARY -> {}
+        }
+        return selected.size() > limit ? new ArrayList<>(selected.subList(0, limit)) : selected;
+    }
+
+    /**
+     * The region that can contain matches, or null if unbounded.
+     */
+    @Nullable
+    private BoundingBox bounds(Location origin) {
+        if (hasVolume()) {
+            return volume(origin);
+        }
+        if (maxDistanceSquared != Double.POSITIVE_INFINITY) {
+            double radius = Math.sqrt(maxDistanceSquared);
+            return BoundingBox.of(origin, radius, radius, radius);
+        }
+        return null;
+    }
+
+    private BoundingBox volume(Location origin) {
+        double x1 = origin.getX(), y1 = origin.getY(), z1 = origin.getZ();
+        double x2 = x1 + (Double.isNaN(dx) ? 0 : dx), y2 = y1 + (Double.isNaN(dy) ? 0 : dy), z2 = z1 + (Double.isNaN(dz) ? 0 : dz);
+        // Volumes span whole blocks, like vanilla
+        return new BoundingBox(Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2), Math.max(x1, x2) + 1, Math.max(y1, y2) + 1, Math.max(z1, z2) + 1);
+    }
+
+    private boolean hasVolume() {
+        return !Double.isNaN(dx) || !Double.isNaN(dy) || !Double.isNaN(dz);
+    }
+
+    private boolean isLocal() {
+        return distance || !Double.isNaN(x) || !Double.isNaN(y) || !Double.isNaN(z) || sort == Sort.NEAREST || sort == Sort.FURTHEST;
+    }
+
+    private Location origin(CommandSender sender) {
+        Location origin;
+        if (sender instanceof Entity entity) {
+            origin = entity.getLocation();
+        } else if (sender instanceof BlockCommandSender block) {
+            origin = block.getBlock().getLocation().add(0.5, 0.5, 0.5);
+        } else {
+            origin = Bukkit.getWorlds().get(0).getSpawnLocation();
+        }
+        if (!Double.isNaN(x)) origin.setX(x);
+        if (!Double.isNaN(y)) origin.setY(y);
+        if (!Double.isNaN(z)) origin.setZ(z);
+        return origin;
+    }
+
+    private static EntityType entityType(String value) {
+        NamespacedKey key = NamespacedKey.fromString(value.toLowerCase(Locale.ROOT));
+        EntityType type = key != null ? Registry.ENTITY_TYPE.get(key) : null;
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown entity type: " + value);
+        }
+        return type;
+    }
+
+    private static GameMode gameMode(String value) {
+        try {
+            return GameMode.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown game mode: " + value, ex);
+        }
+    }
+
+    /**
+     * Parse {@code n}, {@code min..}, {@code ..max} or {@code min..max}.
+     */
+    private static double[] range(String value) {
+        int dots = value.indexOf("..");
+        if (dots == -1) {
+            double exact = number(value);
+            return new double[]{exact, exact};
+        }
+        // Distances and levels are never negative, an open minimum is 0
+        double min = dots == 0 ? 0 : number(value.substring(0, dots));
+        double max = dots + 2 == value.length() ? Double.POSITIVE_INFINITY : number(value.substring(dots + 2));
+        if (min > max) {
+            throw new IllegalArgumentException("Invalid range: " + value);
+        }
+        return new double[]{min, max};
+    }
+
+    private static double number(String value) {
+        OptionalDouble number = NumbersParser.parseDoubleValue(value);
+        if (number.isEmpty() || !Double.isFinite(number.getAsDouble())) {
+            throw new IllegalArgumentException("Invalid number: " + value);
+        }
+        return number.getAsDouble();
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && (value.startsWith("\"") && value.endsWith("\"") || value.startsWith("'") && value.endsWith("'"))) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return input;
+    }
+
+    private record Filter(int cost, Predicate<Entity> predicate) {}
+
+    private enum Kind {
+
+        ALL_PLAYERS, ALL_ENTITIES, NEAREST_PLAYER, RANDOM_PLAYER, SELF, TARGET;
+
+        @Nullable
+        static Kind of(char variable) {
+            return switch (variable) {
+                case 'a' -> ALL_PLAYERS;
+                case 'e' -> ALL_ENTITIES;
+                case 'p' -> NEAREST_PLAYER;
+                case 'r' -> RANDOM_PLAYER;
+                case 's' -> SELF;
+                default -> null;
+            };
+        }
+
+    }
+
+    /**
+     * The order of selected entities.
+     */
+    public enum Sort {
+
+        NEAREST, FURTHEST, RANDOM, ARBITRARY
+
+    }
+
+}
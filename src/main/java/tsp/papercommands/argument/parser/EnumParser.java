@@ -0,0 +1,80 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A generic, case-insensitive parser for enum constants.
+ * The lookup table is built once per parser and also drives {@link #suggest(String) suggestions}.
+ * Besides exact names, aliases and unique prefixes are accepted, e.g. {@code hide_ench} for {@code HIDE_ENCHANTS}.
+ *
+ * @author TheSilentPro (Silent)
+ * @see ArgumentParsers#registerEnum(Class)
+ */
+public final class EnumParser<E extends Enum<E>> implements ArgumentParser<E> {
+
+    private static final int SUGGESTION_LIMIT = 100;
+
+    private final Class<E> type;
+    private final NameTable<E> table;
+
+    private EnumParser(Class<E> type, NameTable<E> table) {
+        this.type = type;
+        this.table = table;
+    }
+
+    /**
+     * Create a parser for an enum.
+     *
+     * @param type The enum type
+     * @return The parser
+     * @param <E> The enum type
+     */
+    @NotNull
+    public static <E extends Enum<E>> EnumParser<E> of(@NotNull Class<E> type) {
+        return of(type, Map.of());
+    }
+
+    /**
+     * Create a parser for an enum with additional aliases.
+     *
+     * @param type The enum type
+     * @param aliases Additional names, case-insensitive
+     * @return The parser
+     * @param <E> The enum type
+     */
+    @NotNull
+    public static <E extends Enum<E>> EnumParser<E> of(@NotNull Class<E> type, @NotNull Map<String, E> aliases) {
+        NameTable.Builder<E> builder = NameTable.builder();
+        for (E constant : type.getEnumConstants()) {
+            builder.add(constant.name(), constant);
+        }
+        builder.addAll(aliases);
+        return new EnumParser<>(type, builder.build());
+    }
+
+    /**
+     * The enum type of this parser.
+     *
+     * @return The type
+     */
+    @NotNull
+    public Class<E> type() {
+        return type;
+    }
+
+    @Override
+    public Optional<E> parse(String s) {
+        return s == null ? Optional.empty() : Optional.ofNullable(table.match(s));
+    }
+
+    @NotNull
+    @Override
+    public List<String> suggest(@NotNull String input) {
+        return table.complete(input, SUGGESTION_LIMIT);
+    }
+
+}
@@ -0,0 +1,62 @@
+package tsp.papercommands.argument.parser;
+
+import io.papermc.paper.event.server.ServerResourcesReloadedEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Rebuilds the {@link AliasIndex registry indexes} of {@link ArgumentParsers#INSTANCE} after the server reloads its resources.
+ * Installed once, by the first plugin that registers a command.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class IndexReloadListener implements Listener {
+
+    private static volatile IndexReloadListener instance;
+
+    private final Plugin plugin;
+
+    private IndexReloadListener(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Install the listener to a plugin. Does nothing if already installed.
+     *
+     * @param plugin The owning plugin
+     */
+    public static void install(@NotNull Plugin plugin) {
+        if (instance != null) {
+            return;
+        }
+        synchronized (IndexReloadListener.class) {
+            if (instance == null) {
+                IndexReloadListener listener = new IndexReloadListener(plugin);
+                Bukkit.getPluginManager().registerEvents(listener, plugin);
+                instance = listener;
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onReload(ServerResourcesReloadedEvent event) {
+        ArgumentParsers.INSTANCE.invalidateIndexes();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDisable(PluginDisableEvent event) {
+        if (event.getPlugin() == plugin) {
+            synchronized (IndexReloadListener.class) {
+                if (instance == this) {
+                    instance = null;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * A primitive specialization of {@link ArgumentParser} for {@code int} values.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@FunctionalInterface
+public interface IntArgumentParser extends ArgumentParser<Integer> {
+
+    /**
+     * Parses the given characters without boxing.
+     *
+     * @param s The argument characters
+     * @return The parsed value, if present
+     */
+    @NotNull
+    OptionalInt parseInt(@NotNull CharSequence s);
+
+    @Override
+    default Optional<Integer> parse(String s) {
+        if (s == null) {
+            return Optional.empty();
+        }
+
+        OptionalInt result = parseInt(s);
+        return result.isPresent() ? Optional.of(result.getAsInt()) : Optional.empty();
+    }
+
+}
@@ -0,0 +1,52 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A small bounded cache for frequently parsed literals.
+ * When full, the cache is cleared instead of tracking recency, keeping lookups lock-free and cheap.
+ * Only successful results are cached so that garbage input can not flood it.
+ *
+ * @author TheSilentPro (Silent)
+ */
+final class LiteralCache<V> {
+
+    private final int capacity;
+    private final int maxKeyLength;
+    private final Map<String, V> values = new ConcurrentHashMap<>();
+
+    LiteralCache(int capacity, int maxKeyLength) {
+        this.capacity = capacity;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    /**
+     * Get a cached value or compute it.
+     *
+     * @param key The literal
+     * @param function The function computing the value, may return null on failure
+     * @return The value, or null if it could not be computed
+     */
+    @Nullable
+    V get(@NotNull String key, @NotNull Function<String, V> function) {
+        V value = values.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = function.apply(key);
+        if (value != null && key.length() <= maxKeyLength) {
+            if (values.size() >= capacity) {
+                values.clear();
+            }
+            values.put(key, value);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,195 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A hand-written {@link Number} scanner configured per locale.
+ * Accepts grouping separators between integer digits, a locale decimal separator
+ * and the shorthand suffixes {@code k}, {@code m}, {@code b} and {@code t} (e.g. {@code 1.5k}, {@code 2m}).
+ * <p>
+ * Integral results are returned as {@link Long}, everything else as {@link Double}, like {@link java.text.NumberFormat}.
+ * Parsing never allocates a formatter and never throws.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class LocaleNumberParser implements ArgumentParser<Number> {
+
+    private static final Map<Locale, LocaleNumberParser> CACHE = new ConcurrentHashMap<>();
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private final boolean suffixes;
+
+    /**
+     * Create a parser with explicit separators.
+     *
+     * @param groupingSeparator The grouping separator, e.g. {@code ','} in {@code 1,000}
+     * @param decimalSeparator The decimal separator, e.g. {@code '.'} in {@code 1.5}
+     * @param suffixes Whether shorthand suffixes are accepted
+     */
+    public LocaleNumberParser(char groupingSeparator, char decimalSeparator, boolean suffixes) {
+        if (groupingSeparator == decimalSeparator) {
+            throw new IllegalArgumentException("Grouping and decimal separators must differ!");
+        }
+        this.groupingSeparator = groupingSeparator;
+        this.decimalSeparator = decimalSeparator;
+        this.suffixes = suffixes;
+    }
+
+    /**
+     * Get the cached parser for a locale, suffixes are enabled.
+     *
+     * @param locale The locale
+     * @return The parser
+     */
+    @NotNull
+    public static LocaleNumberParser forLocale(@NotNull Locale locale) {
+        return CACHE.computeIfAbsent(locale, l -> {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(l);
+            return new LocaleNumberParser(symbols.getGroupingSeparator(), symbols.getDecimalSeparator(), true);
+        });
+    }
+
+    @Override
+    public Optional<Number> parse(String s) {
+        if (s == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(parseValue(s));
+    }
+
+    /**
+     * Parses the given characters.
+     *
+     * @param s The characters
+     * @return The number, or null if the input is not a valid number
+     */
+    @Nullable
+    public Number parseValue(@NotNull CharSequence s) {
+        int length = s.length();
+        int exponent = 0;
+        if (suffixes && length > 0) {
+            exponent = suffixExponent(s.charAt(length - 1));
+            if (exponent > 0) {
+                length--;
+            }
+        }
+
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+
+        // Accumulated negatively like Long#parseLong, so that Long.MIN_VALUE stays a long
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean overflow = false;
+        boolean fraction = false;
+        for (; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if (overflow || unscaled < limit / 10 || unscaled * 10 < limit + digit) {
+                    overflow = true;
+                } else {
+                    unscaled = unscaled * 10 - digit;
+                }
+                digits++;
+                if (fraction) {
+                    scale++;
+                }
+            } else if (c == groupingSeparator && !fraction) {
+                // Grouping is only valid between integer digits
+                if (digits == 0 || i + 1 >= length || !isDigit(s.charAt(i + 1))) {
+                    return null;
+                }
+            } else if (c == decimalSeparator && !fraction) {
+                fraction = true;
+            } else {
+                return null;
+            }
+        }
+
+        if (digits == 0) {
+            return null;
+        }
+        if (overflow) {
+            return slowParse(s, length, exponent);
+        }
+
+        if (!negative) {
+            unscaled = -unscaled;
+        }
+
+        int shift = exponent - scale;
+        if (shift == 0) {
+            return unscaled;
+        }
+        if (shift > 0) {
+            if (shift < POWERS_OF_TEN.length) {
+                long max = Long.MAX_VALUE / POWERS_OF_TEN[shift];
+                if (unscaled >= -max && unscaled <= max) {
+                    return unscaled * POWERS_OF_TEN[shift];
+                }
+            }
+            return unscaled * Math.pow(10, shift);
+        }
+
+        if (-shift < POWERS_OF_TEN.length) {
+            long divisor = POWERS_OF_TEN[-shift];
+            if (unscaled % divisor == 0) {
+                return unscaled / divisor;
+            }
+            return (double) unscaled / divisor;
+        }
+        return unscaled / Math.pow(10, -shift);
+    }
+
+    /**
+     * Fallback for inputs with more digits than fit a long, only reached for absurdly long numbers.
+     */
+    private Number slowParse(CharSequence s, int length, int exponent) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == decimalSeparator) {
+                builder.append('.');
+            } else if (c != groupingSeparator) {
+                builder.append(c);
+            }
+        }
+        return Double.parseDouble(builder.toString()) * Math.pow(10, exponent);
+    }
+
+    private static int suffixExponent(char c) {
+        return switch (c) {
+            case 'k', 'K' -> 3;
+            case 'm', 'M' -> 6;
+            case 'b', 'B' -> 9;
+            case 't', 'T' -> 12;
+            default -> 0;
+        };
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
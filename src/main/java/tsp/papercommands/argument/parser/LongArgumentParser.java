@@ -0,0 +1,35 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * A primitive specialization of {@link ArgumentParser} for {@code long} values.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@FunctionalInterface
+public interface LongArgumentParser extends ArgumentParser<Long> {
+
+    /**
+     * Parses the given characters without boxing.
+     *
+     * @param s The argument characters
+     * @return The parsed value, if present
+     */
+    @NotNull
+    OptionalLong parseLong(@NotNull CharSequence s);
+
+    @Override
+    default Optional<Long> parse(String s) {
+        if (s == null) {
+            return Optional.empty();
+        }
+
+        OptionalLong result = parseLong(s);
+        return result.isPresent() ? Optional.of(result.getAsLong()) : Optional.empty();
+    }
+
+}
@@ -0,0 +1,143 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded name to UUID cache with time based eviction.
+ * Unknown names are cached too (with their own, usually shorter, time to live) so that repeated typos do not trigger lookups.
+ * The least recently used entries are evicted when the capacity is reached.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class NameCache {
+
+    private final int capacity;
+    private final long ttl;
+    private final long negativeTtl;
+    private final LongSupplier clock;
+    private final Map<String, Entry> byName;
+    private final Map<UUID, Entry> byId;
+
+    /**
+     * Create a cache.
+     *
+     * @param capacity The maximum amount of names
+     * @param ttl How long a resolved name is kept
+     * @param negativeTtl How long an unknown name is kept
+     * @param clock The clock in nanoseconds, e.g. {@code System::nanoTime}
+     */
+    public NameCache(int capacity, @NotNull Duration ttl, @NotNull Duration negativeTtl, @NotNull LongSupplier clock) {
+        this.capacity = capacity;
+        this.ttl = ttl.toNanos();
+        this.negativeTtl = negativeTtl.toNanos();
+        this.clock = clock;
+        this.byName = new LinkedHashMap<>(16, 0.75f, true);
+        this.byId = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Create a cache using {@link System#nanoTime()}.
+     *
+     * @param capacity The maximum amount of names
+     * @param ttl How long a resolved name is kept
+     * @param negativeTtl How long an unknown name is kept
+     */
+    public NameCache(int capacity, @NotNull Duration ttl, @NotNull Duration negativeTtl) {
+        this(capacity, ttl, negativeTtl, System::nanoTime);
+    }
+
+    /**
+     * Look up a name.
+     *
+     * @param name The name, case-insensitive
+     * @return The entry, or null on a miss. An entry without an id means the name is known to not exist.
+     */
+    @Nullable
+    public synchronized Entry get(@NotNull String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Entry entry = byName.get(key);
+        if (entry != null && entry.expiresAt - clock.getAsLong() <= 0) {
+            byName.remove(key);
+            if (entry.id != null) {
+                byId.remove(entry.id, entry);
+            }
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Look up the last known name of an id.
+     *
+     * @param id The id
+     * @return The name, or null on a miss
+     */
+    @Nullable
+    public synchronized String name(@NotNull UUID id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - clock.getAsLong() <= 0) {
+            byId.remove(id);
+            byName.remove(entry.name.toLowerCase(Locale.ROOT), entry);
+            return null;
+        }
+        return entry.name;
+    }
+
+    /**
+     * Cache the result of a lookup.
+     *
+     * @param name The name
+     * @param id The id, or null if the name does not exist
+     */
+    public synchronized void put(@NotNull String name, @Nullable UUID id) {
+        Entry entry = new Entry(name, id, clock.getAsLong() + (id != null ? ttl : negativeTtl));
+        Entry previous = byName.put(name.toLowerCase(Locale.ROOT), entry);
+        if (previous != null && previous.id != null) {
+            byId.remove(previous.id, previous);
+        }
+        if (id != null) {
+            byId.put(id, entry);
+        }
+
+        while (byName.size() > capacity) {
+            Map.Entry<String, Entry> eldest = byName.entrySet().iterator().next();
+            byName.remove(eldest.getKey());
+            if (eldest.getValue().id != null) {
+                byId.remove(eldest.getValue().id, eldest.getValue());
+            }
+        }
+        while (byId.size() > capacity) {
+            byId.remove(byId.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * The amount of cached names.
+     *
+     * @return The size
+     */
+    public synchronized int size() {
+        return byName.size();
+    }
+
+    /**
+     * A cached lookup result.
+     *
+     * @param name The name as resolved
+     * @param id The id, or null if the name does not exist
+     * @param expiresAt The expiry time in clock nanoseconds
+     */
+    public record Entry(@NotNull String name, @Nullable UUID id, long expiresAt) {}
+
+}
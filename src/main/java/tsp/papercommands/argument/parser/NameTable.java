@@ -0,0 +1,191 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * An immutable, case-insensitive lookup table from names to values.
+ * Names are lower-cased and sorted once, lookups binary search the input without copying or case-converting it.
+ * The same sorted names drive unique-prefix matching and completions.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class NameTable<T> {
+
+    private final String[] names;
+    private final Object[] values;
+    private final List<String> view;
+
+    private NameTable(String[] names, Object[] values) {
+        this.names = names;
+        this.values = values;
+        this.view = Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    @NotNull
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Get the value for an exact name, ignoring case.
+     *
+     * @param input The name
+     * @return The value, or null if not found
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T get(@NotNull CharSequence input) {
+        int index = search(input);
+        return index >= 0 ? (T) values[index] : null;
+    }
+
+    /**
+     * Get the value for an exact name, or for a prefix that only matches names of a single value.
+     *
+     * @param input The name or prefix
+     * @return The value, or null if not found or ambiguous
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T match(@NotNull CharSequence input) {
+        if (input.isEmpty()) {
+            return null;
+        }
+
+        int index = search(input);
+        if (index >= 0) {
+            return (T) values[index];
+        }
+
+        // Not found, the insertion point is the first name with the input as prefix.
+        int from = -index - 1;
+        int to = prefixEnd(input, from);
+        if (from == to) {
+            return null;
+        }
+
+        Object value = values[from];
+        for (int i = from + 1; i < to; i++) {
+            if (values[i] != value) {
+                return null;
+            }
+        }
+        return (T) value;
+    }
+
+    /**
+     * Get the names starting with a prefix, ignoring case.
+     *
+     * @param prefix The prefix
+     * @param limit The maximum amount of names
+     * @return The sorted names
+     */
+    @NotNull
+    public List<String> complete(@NotNull CharSequence prefix, int limit) {
+        int from = search(prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        int to = (int) Math.min(prefixEnd(prefix, from), (long) from + limit);
+        return from >= to ? List.of() : view.subList(from, to);
+    }
+
+    /**
+     * The amount of names in this table, including aliases.
+     *
+     * @return The size
+     */
+    public int size() {
+        return names.length;
+    }
+
+    private int search(CharSequence input) {
+        int low = 0;
+        int high = names.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(names[mid], input);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int prefixEnd(CharSequence prefix, int from) {
+        int to = from;
+        while (to < names.length && startsWith(names[to], prefix)) {
+            to++;
+        }
+        return to;
+    }
+
+    /**
+     * Compares a lower-cased name with an input of any case.
+     */
+    static int compare(String name, CharSequence input) {
+        int length = Math.min(name.length(), input.length());
+        for (int i = 0; i < length; i++) {
+            char a = name.charAt(i);
+            char b = Character.toLowerCase(input.charAt(i));
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return name.length() - input.length();
+    }
+
+    static boolean startsWith(String name, CharSequence prefix) {
+        if (name.length() < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (name.charAt(i) != Character.toLowerCase(prefix.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builder for a {@link NameTable}, the first value added for a name wins.
+     */
+    public static final class Builder<T> {
+
+        private final Map<String, T> entries = new HashMap<>();
+
+        private Builder() {}
+
+        @NotNull
+        public Builder<T> add(@NotNull String name, @NotNull T value) {
+            entries.putIfAbsent(name.toLowerCase(Locale.ROOT), value);
+            return this;
+        }
+
+        @NotNull
+        public Builder<T> addAll(@NotNull Map<String, ? extends T> entries) {
+            entries.forEach(this::add);
+            return this;
+        }
+
+        @NotNull
+        public NameTable<T> build() {
+            String[] names = entries.keySet().toArray(new String[0]);
+            Arrays.sort(names);
+            Object[] values = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                values[i] = entries.get(names[i]);
+            }
+            return new NameTable<>(names, values);
+        }
+
+    }
+
+}
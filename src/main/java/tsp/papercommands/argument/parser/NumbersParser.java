@@ -3,11 +3,16 @@ package tsp.papercommands.argument.parser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.text.NumberFormat;
-import java.text.ParseException;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 /**
+ * Parses numbers from strings.
+ * The primitive variants scan the characters directly and never throw, invalid input is the common case for player commands.
+ *
  * @author TheSilentPro (Silent)
  */
 public final class NumbersParser {
@@ -16,17 +21,16 @@ public final class NumbersParser {
         throw new UnsupportedOperationException("Utility class.");
     }
 
+    /**
+     * Parses a number in the default format locale, accepting grouping separators and suffixes such as {@code 10k}.
+     *
+     * @param s The string
+     * @return The number, if present
+     * @see LocaleNumberParser
+     */
     @NotNull
     public static Optional<Number> parse(@Nullable String s) {
-        if (s == null) {
-            return Optional.empty();
-        }
-
-        try {
-            return Optional.ofNullable(NumberFormat.getInstance().parse(s));
-        } catch (ParseException e) {
-            return Optional.empty();
-        }
+        return LocaleNumberParser.forLocale(Locale.getDefault(Locale.Category.FORMAT)).parse(s);
     }
 
     @NotNull
@@ -35,11 +39,8 @@ public final class NumbersParser {
             return Optional.empty();
         }
 
-        try {
-            return Optional.of(Integer.parseInt(s));
-        } catch (NumberFormatException e) {
-            return Optional.empty();
-        }
+        OptionalInt result = parseIntValue(s);
+        return result.isPresent() ? Optional.of(result.getAsInt()) : Optional.empty();
     }
 
     @NotNull
@@ -48,24 +49,17 @@ public final class NumbersParser {
             return Optional.empty();
         }
 
-        try {
-            return Optional.of(Long.parseLong(s));
-        } catch (NumberFormatException e) {
-            return Optional.empty();
-        }
+        OptionalLong result = parseLongValue(s);
+        return result.isPresent() ? Optional.of(result.getAsLong()) : Optional.empty();
     }
 
     @NotNull
     public static Optional<Float> parseFloat(@Nullable String s) {
-        if (s == null) {
+        if (s == null || !isDecimal(s)) {
             return Optional.empty();
         }
 
-        try {
-            return Optional.of(Float.parseFloat(s));
-        } catch (NumberFormatException e) {
-            return Optional.empty();
-        }
+        return Optional.of(Float.parseFloat(s));
     }
 
     @NotNull
@@ -74,11 +68,8 @@ public final class NumbersParser {
             return Optional.empty();
         }
 
-        try {
-            return Optional.of(Double.parseDouble(s));
-        } catch (NumberFormatException e) {
-            return Optional.empty();
-        }
+        OptionalDouble result = parseDoubleValue(s);
+        return result.isPresent() ? Optional.of(result.getAsDouble()) : Optional.empty();
     }
 
     @NotNull
@@ -87,11 +78,134 @@ public final class NumbersParser {
             return Optional.empty();
         }
 
-        try {
-            return Optional.of(Byte.parseByte(s));
-        } catch (NumberFormatException e) {
+        OptionalInt result = parseIntValue(s);
+        if (result.isEmpty() || result.getAsInt() < Byte.MIN_VALUE || result.getAsInt() > Byte.MAX_VALUE) {
             return Optional.empty();
         }
+        return Optional.of((byte) result.getAsInt());
+    }
+
+    /**
+     * Parses a decimal {@code int} with an optional sign.
+     *
+     * @param s The characters
+     * @return The value, or empty if the input is not a valid int
+     */
+    @NotNull
+    public static OptionalInt parseIntValue(@NotNull CharSequence s) {
+        OptionalLong result = scanLong(s, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return result.isPresent() ? OptionalInt.of((int) result.getAsLong()) : OptionalInt.empty();
+    }
+
+    /**
+     * Parses a decimal {@code long} with an optional sign.
+     *
+     * @param s The characters
+     * @return The value, or empty if the input is not a valid long
+     */
+    @NotNull
+    public static OptionalLong parseLongValue(@NotNull CharSequence s) {
+        return scanLong(s, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parses a decimal {@code double}, e.g. {@code -1.5} or {@code 2e3}.
+     * Unlike {@link Double#parseDouble(String)}, whitespace, hex, {@code NaN} and {@code Infinity} are rejected.
+     *
+     * @param s The characters
+     * @return The value, or empty if the input is not a valid double
+     */
+    @NotNull
+    public static OptionalDouble parseDoubleValue(@NotNull CharSequence s) {
+        if (!isDecimal(s)) {
+            return OptionalDouble.empty();
+        }
+
+        // The grammar was validated above, this can not throw.
+        return OptionalDouble.of(Double.parseDouble(s.toString()));
+    }
+
+    /**
+     * Scans a signed decimal number, accumulating negatively so that the minimum value does not overflow.
+     */
+    private static OptionalLong scanLong(CharSequence s, long min, long max) {
+        int length = s.length();
+        if (length == 0) {
+            return OptionalLong.empty();
+        }
+
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == length) {
+                return OptionalLong.empty();
+            }
+        }
+
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return OptionalLong.empty();
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return OptionalLong.empty();
+            }
+            result -= digit;
+        }
+        return OptionalLong.of(negative ? result : -result);
+    }
+
+    /**
+     * Validates the grammar {@code [+-]digits[.digits][(e|E)[+-]digits]}, at least one mantissa digit is required.
+     */
+    static boolean isDecimal(CharSequence s) {
+        int length = s.length();
+        int i = 0;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            i++;
+        }
+
+        int digits = 0;
+        while (i < length && isDigit(s.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && s.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                i++;
+            }
+            int exponent = 0;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+                exponent++;
+            }
+            if (exponent == 0) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,190 @@
+package tsp.papercommands.argument.parser;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolves {@link OfflinePlayer offline players} without blocking the calling thread.
+ * <p>
+ * Lookup order: UUID input, the local lookup (online players and the server's user cache), the {@link NameCache},
+ * and finally the {@link ProfileResolver}. Concurrent lookups of the same name share a single remote request.
+ * {@link #resolveCached(String)} never reaches the remote resolver and is safe on the main thread.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class OfflinePlayerResolver {
+
+    private static volatile OfflinePlayerResolver instance;
+
+    private final ProfileResolver remote;
+    private final Function<String, UUID> local;
+    private final NameCache cache;
+    private final Map<String, CompletableFuture<Optional<UUID>>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Create a resolver.
+     *
+     * @param remote The remote resolver
+     * @param local The local lookup, returning null if the name is not known locally
+     * @param cache The cache for remote results
+     */
+    public OfflinePlayerResolver(@NotNull ProfileResolver remote, @NotNull Function<String, UUID> local, @NotNull NameCache cache) {
+        this.remote = remote;
+        this.local = local;
+        this.cache = cache;
+    }
+
+    /**
+     * The shared resolver, backed by {@link ProfileResolver#paper()} and the server's user cache.
+     *
+     * @return The resolver
+     */
+    @NotNull
+    public static OfflinePlayerResolver get() {
+        OfflinePlayerResolver resolver = instance;
+        if (resolver == null) {
+            synchronized (OfflinePlayerResolver.class) {
+                resolver = instance;
+                if (resolver == null) {
+                    resolver = new OfflinePlayerResolver(ProfileResolver.paper(), OfflinePlayerResolver::lookupLocal, new NameCache(10_000, Duration.ofHours(6), Duration.ofMinutes(5)));
+                    instance = resolver;
+                }
+            }
+        }
+        return resolver;
+    }
+
+    /**
+     * Replace the shared resolver, e.g. with one backed by a proxy or database lookup.
+     *
+     * @param resolver The resolver
+     */
+    public static void set(@NotNull OfflinePlayerResolver resolver) {
+        instance = resolver;
+    }
+
+    /**
+     * Resolve an offline player by name or UUID.
+     *
+     * @param input The name or UUID
+     * @return A future of the player, empty if no such player exists
+     */
+    @NotNull
+    public CompletableFuture<Optional<OfflinePlayer>> resolve(@NotNull String input) {
+        return resolveId(input).thenApply(id -> id.map(Bukkit::getOfflinePlayer));
+    }
+
+    /**
+     * Resolve an offline player by name or UUID from local data and the cache only.
+     *
+     * @param input The name or UUID
+     * @return The player, empty if unknown or not cached
+     */
+    @NotNull
+    public Optional<OfflinePlayer> resolveCached(@NotNull String input) {
+        return cachedId(input).flatMap(id -> id).map(Bukkit::getOfflinePlayer);
+    }
+
+    /**
+     * Resolve a UUID by name, or parse the input if it is a UUID.
+     *
+     * @param input The name or UUID
+     * @return A future of the id, empty if no such player exists
+     */
+    @NotNull
+    public CompletableFuture<Optional<UUID>> resolveId(@NotNull String input) {
+        Optional<Optional<UUID>> cached = cachedId(input);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        String key = input.toLowerCase(Locale.ROOT);
+        CompletableFuture<Optional<UUID>> future = pending.get(key);
+        if (future != null) {
+            return future;
+        }
+
+        CompletableFuture<Optional<UUID>> created = new CompletableFuture<>();
+        future = pending.putIfAbsent(key, created);
+        if (future != null) {
+            return future;
+        }
+
+        CompletableFuture<Optional<UUID>> response;
+        try {
+            response = remote.resolve(input);
+        } catch (RuntimeException ex) {
+            // Never leave a future behind that later lookups would join forever
+            pending.remove(key, created);
+            created.completeExceptionally(ex);
+            return created;
+        }
+
+        response.whenComplete((id, ex) -> {
+            if (ex == null) {
+                cache.put(input, id.orElse(null));
+                created.complete(id);
+            } else {
+                created.completeExceptionally(ex);
+            }
+            pending.remove(key, created);
+        });
+        return created;
+    }
+
+    /**
+     * Look up an id without reaching the remote resolver.
+     *
+     * @param input The name or UUID
+     * @return Empty on a miss, otherwise the cached result which itself is empty for unknown names
+     */
+    @NotNull
+    public Optional<Optional<UUID>> cachedId(@NotNull String input) {
+        UUID id = UUIDParser.parse(input);
+        if (id != null) {
+            return Optional.of(Optional.of(id));
+        }
+
+        id = local.apply(input);
+        if (id != null) {
+            return Optional.of(Optional.of(id));
+        }
+
+        NameCache.Entry entry = cache.get(input);
+        return entry != null ? Optional.of(Optional.ofNullable(entry.id())) : Optional.empty();
+    }
+
+    /**
+     * The cache of remote results.
+     *
+     * @return The cache
+     */
+    @NotNull
+    public NameCache cache() {
+        return cache;
+    }
+
+    @Nullable
+    private static UUID lookupLocal(String name) {
+        Player online = PlayerIndex.get().map(index -> index.getExact(name)).orElseGet(() -> Bukkit.getPlayerExact(name));
+        if (online != null) {
+            return online.getUniqueId();
+        }
+
+        OfflinePlayer cached = Bukkit.getOfflinePlayerIfCached(name);
+        return cached != null ? cached.getUniqueId() : null;
+    }
+
+}
@@ -0,0 +1,174 @@
+package tsp.papercommands.argument.parser;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * An index of online players maintained from join and quit events, safe to read from any thread.
+ * Exact lookups by UUID or lower-cased name are a single hash probe, prefix lookups use a sorted map shared with tab completion.
+ * <p>
+ * The {@link Player} parser uses the index once {@link #install(Plugin) installed}, otherwise it falls back to Bukkit's lookups.
+ * Installed once, by the first plugin that registers a command.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class PlayerIndex implements Listener {
+
+    private static volatile PlayerIndex instance;
+
+    private final Plugin plugin;
+    private final Map<UUID, Player> byId = new ConcurrentHashMap<>();
+    private final Map<String, Player> byName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Player> sorted = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private PlayerIndex(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Install the index, registering its listener to a plugin. Does nothing if already installed.
+     *
+     * @param plugin The owning plugin
+     * @return The index
+     */
+    @NotNull
+    public static synchronized PlayerIndex install(@NotNull Plugin plugin) {
+        PlayerIndex index = instance;
+        if (index == null) {
+            index = new PlayerIndex(plugin);
+            Bukkit.getPluginManager().registerEvents(index, plugin);
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                index.add(player);
+            }
+            instance = index;
+        }
+        return index;
+    }
+
+    /**
+     * Get the installed index.
+     *
+     * @return The index, if installed
+     */
+    @NotNull
+    public static Optional<PlayerIndex> get() {
+        return Optional.ofNullable(instance);
+    }
+
+    /**
+     * Get an online player by UUID.
+     *
+     * @param id The UUID
+     * @return The player, or null if offline
+     */
+    @Nullable
+    public Player get(@NotNull UUID id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Get an online player by exact name, ignoring case.
+     *
+     * @param name The name
+     * @return The player, or null if offline
+     */
+    @Nullable
+    public Player getExact(@NotNull String name) {
+        return byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Get an online player by name, like {@link Bukkit#getPlayer(String)}:
+     * an exact match first, otherwise the shortest name starting with the input.
+     *
+     * @param name The name or prefix
+     * @return The player, or null if none match
+     */
+    @Nullable
+    public Player match(@NotNull String name) {
+        Player player = getExact(name);
+        if (player != null || name.isEmpty()) {
+            return player;
+        }
+
+        Player found = null;
+        int delta = Integer.MAX_VALUE;
+        for (Map.Entry<String, Player> entry : sorted.tailMap(name).entrySet()) {
+            String key = entry.getKey();
+            if (!key.regionMatches(true, 0, name, 0, name.length())) {
+                break;
+            }
+            if (key.length() - name.length() < delta) {
+                found = entry.getValue();
+                delta = key.length() - name.length();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Suggest names of online players starting with a prefix, ignoring case.
+     *
+     * @param prefix The prefix
+     * @param limit The maximum amount of names
+     * @return The sorted names
+     */
+    @NotNull
+    public List<String> suggest(@NotNull String prefix, int limit) {
+        List<String> names = new ArrayList<>();
+        for (String name : sorted.tailMap(prefix).keySet()) {
+            if (names.size() >= limit || !name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                break;
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    private void add(Player player) {
+        byId.put(player.getUniqueId(), player);
+        byName.put(player.getName().toLowerCase(Locale.ROOT), player);
+        sorted.put(player.getName(), player);
+    }
+
+    private void remove(Player player) {
+        byId.remove(player.getUniqueId());
+        byName.remove(player.getName().toLowerCase(Locale.ROOT), player);
+        sorted.remove(player.getName(), player);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        add(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDisable(PluginDisableEvent event) {
+        if (event.getPlugin() == plugin) {
+            synchronized (PlayerIndex.class) {
+                if (instance == this) {
+                    instance = null;
+                }
+            }
+        }
+    }
+
+}
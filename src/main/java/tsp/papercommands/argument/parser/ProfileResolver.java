@@ -0,0 +1,45 @@
+package tsp.papercommands.argument.parser;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Resolves a player name to a UUID through a remote (and potentially slow) source.
+ *
+ * @author TheSilentPro (Silent)
+ * @see OfflinePlayerResolver
+ */
+@FunctionalInterface
+public interface ProfileResolver {
+
+    /**
+     * Resolve a name, this must not block the calling thread.
+     *
+     * @param name The name
+     * @return A future of the id, empty if no such player exists
+     */
+    @NotNull
+    CompletableFuture<Optional<UUID>> resolve(@NotNull String name);
+
+    /**
+     * A resolver completing profiles through Paper's profile API on virtual threads.
+     *
+     * @return The resolver
+     */
+    @NotNull
+    static ProfileResolver paper() {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        return name -> CompletableFuture.supplyAsync(() -> {
+            PlayerProfile profile = Bukkit.createProfile(name);
+            return profile.complete(false) ? Optional.ofNullable(profile.getId()) : Optional.empty();
+        }, executor);
+    }
+
+}
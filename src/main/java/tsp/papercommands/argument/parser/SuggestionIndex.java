@@ -0,0 +1,123 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * An immutable prefix index of names used for tab completion.
+ * Names are sorted once, a completion is a binary search plus a bounded view over the sorted names, nothing is scanned or copied.
+ * <p>
+ * Namespaced names ({@code minecraft:stone}) are indexed twice: by the full name, used when the input contains a colon,
+ * and by the short name ({@code stone}) otherwise. Short matches are suggested without the {@code minecraft} namespace.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class SuggestionIndex {
+
+    /**
+     * The default maximum amount of suggestions.
+     */
+    public static final int DEFAULT_LIMIT = 100;
+
+    private static final String DEFAULT_NAMESPACE = "minecraft";
+
+    private final Part full;
+    private final Part simple;
+
+    private SuggestionIndex(Part full, Part simple) {
+        this.full = full;
+        this.simple = simple;
+    }
+
+    /**
+     * Build an index.
+     *
+     * @param names The names, optionally namespaced
+     * @return The index
+     */
+    @NotNull
+    public static SuggestionIndex of(@NotNull Iterable<String> names) {
+        Map<String, String> full = new HashMap<>();
+        Map<String, String> simple = new HashMap<>();
+        for (String name : names) {
+            int separator = name.indexOf(':');
+            if (separator == -1) {
+                simple.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+                continue;
+            }
+
+            String namespace = name.substring(0, separator);
+            String value = name.substring(separator + 1);
+            full.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+            simple.putIfAbsent(value.toLowerCase(Locale.ROOT), namespace.equals(DEFAULT_NAMESPACE) ? value : name);
+        }
+        return new SuggestionIndex(Part.of(full), Part.of(simple));
+    }
+
+    /**
+     * Suggest names starting with the input, ignoring case.
+     *
+     * @param input The partial input
+     * @param limit The maximum amount of suggestions
+     * @return The sorted suggestions
+     */
+    @NotNull
+    public List<String> suggest(@NotNull CharSequence input, int limit) {
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) == ':') {
+                return full.suggest(input, limit);
+            }
+        }
+        return simple.suggest(input, limit);
+    }
+
+    /**
+     * Suggest names starting with the input, ignoring case, bounded by {@link #DEFAULT_LIMIT}.
+     *
+     * @param input The partial input
+     * @return The sorted suggestions
+     */
+    @NotNull
+    public List<String> suggest(@NotNull CharSequence input) {
+        return suggest(input, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Sorted lower-cased keys with the names to suggest for them.
+     */
+    private record Part(String[] keys, List<String> names) {
+
+        private static Part of(Map<String, String> entries) {
+            String[] keys = entries.keySet().toArray(new String[0]);
+            Arrays.sort(keys);
+            String[] names = new String[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                names[i] = entries.get(keys[i]);
+            }
+            return new Part(keys, Collections.unmodifiableList(Arrays.asList(names)));
+        }
+
+        private List<String> suggest(CharSequence input, int limit) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (NameTable.compare(keys[mid], input) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            int end = low;
+            int max = (int) Math.min(keys.length, (long) low + limit);
+            while (end < max && NameTable.startsWith(keys[end], input)) {
+                end++;
+            }
+            return low == end ? List.of() : names.subList(low, end);
+        }
+
+    }
+
+}
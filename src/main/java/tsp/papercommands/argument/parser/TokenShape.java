@@ -0,0 +1,150 @@
+package tsp.papercommands.argument.parser;
+
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Classifies raw tokens by their shape in a single scan, so that an {@link ArgumentUnion} only hands a token
+ * to the parsers that can accept it. Shapes are bit flags, a token usually has several, e.g. {@code 123} is an
+ * {@link #INTEGER}, a {@link #DECIMAL}, a {@link #NAME} and a {@link #WORD}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class TokenShape {
+
+    /**
+     * Any non-empty token.
+     */
+    public static final int TEXT = 1;
+    /**
+     * Characters of keys and identifiers without a namespace: {@code [A-Za-z0-9_.+/-]}.
+     */
+    public static final int WORD = 1 << 1;
+    /**
+     * A possible player name, 1 to 16 characters of {@code [A-Za-z0-9_]}.
+     */
+    public static final int NAME = 1 << 2;
+    /**
+     * A signed decimal integer.
+     */
+    public static final int INTEGER = 1 << 3;
+    /**
+     * A signed decimal number, with an optional fraction and exponent.
+     */
+    public static final int DECIMAL = 1 << 4;
+    /**
+     * A UUID, dashed or undashed.
+     */
+    public static final int UUID = 1 << 5;
+    /**
+     * A namespaced key, {@link #WORD} characters around a single colon.
+     */
+    public static final int KEY = 1 << 6;
+    /**
+     * An entity selector, starting with {@code @}.
+     */
+    public static final int SELECTOR = 1 << 7;
+    /**
+     * Accepts every shape.
+     */
+    public static final int ANY = -1;
+
+    private TokenShape() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+
+    /**
+     * Classify a token.
+     *
+     * @param s The token
+     * @return The shapes of the token, 0 if empty
+     */
+    public static int classify(@NotNull CharSequence s) {
+        int length = s.length();
+        if (length == 0) {
+            return 0;
+        }
+
+        boolean word = true;
+        boolean name = length <= 16;
+        boolean hex = true; // Hex digits and dashes only
+        boolean numeric = true; // Characters of decimal numbers only
+        boolean digits = true; // Digits after an optional sign
+        int colons = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+            if (!digit && !letter && c != '_') {
+                name = false;
+                if (c == ':') {
+                    colons++;
+                } else if (c != '.' && c != '-' && c != '+' && c != '/') {
+                    word = false;
+                }
+            }
+            if (!digit && c != '-' && !((c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) {
+                hex = false;
+            }
+            if (!digit && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                numeric = false;
+            }
+            if (!digit && !(i == 0 && (c == '-' || c == '+') && length > 1)) {
+                digits = false;
+            }
+        }
+
+        int shapes = TEXT;
+        if (word && colons == 0) {
+            shapes |= WORD;
+        }
+        if (name) {
+            shapes |= NAME;
+        }
+        if (digits) {
+            shapes |= INTEGER | DECIMAL;
+        } else if (numeric && NumbersParser.isDecimal(s)) {
+            shapes |= DECIMAL;
+        }
+        if (hex && (length == 32 || length == 36) && UUIDParser.looksLikeUUID(s)) {
+            shapes |= UUID;
+        }
+        if (word && colons == 1 && s.charAt(0) != ':' && s.charAt(length - 1) != ':') {
+            shapes |= KEY;
+        }
+        if (s.charAt(0) == '@') {
+            shapes |= SELECTOR;
+        }
+        return shapes;
+    }
+
+    /**
+     * The shapes the registered parser of a type can accept, {@link #ANY} for types without a known shape.
+     *
+     * @param type The type
+     * @return The shapes
+     */
+    public static int accepted(@NotNull Class<?> type) {
+        if (type == Integer.class || type == int.class || type == Long.class || type == long.class || type == Byte.class || type == byte.class) {
+            return INTEGER;
+        } else if (type == Double.class || type == double.class) {
+            return DECIMAL;
+        } else if (type == java.util.UUID.class) {
+            return UUID;
+        } else if (type == Player.class || type == OfflinePlayer.class) {
+            return NAME | UUID;
+        } else if (type == EntitySelector.class) {
+            return SELECTOR | NAME | UUID;
+        } else if (type == NamespacedKey.class || Keyed.class.isAssignableFrom(type)) {
+            // Before enums, keyed enums such as Material also accept namespaced keys
+            return KEY | WORD;
+        } else if (type == Boolean.class || type == boolean.class || type.isEnum()) {
+            return WORD;
+        }
+        return ANY;
+    }
+
+}
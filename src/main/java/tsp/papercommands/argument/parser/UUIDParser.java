@@ -0,0 +1,107 @@
+package tsp.papercommands.argument.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Parses {@link UUID UUIDs} by checking their shape first, so that ordinary names never reach a throwing parser.
+ * Accepts the canonical dashed form and the 32 character undashed form used by Mojang.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class UUIDParser {
+
+    private UUIDParser() {
+        throw new UnsupportedOperationException("Utility class.");
+    }
+
+    /**
+     * Check whether the input has the shape of a UUID, without parsing it.
+     *
+     * @param s The characters
+     * @return Whether the input looks like a UUID
+     */
+    public static boolean looksLikeUUID(@NotNull CharSequence s) {
+        int length = s.length();
+        if (length == 32) {
+            for (int i = 0; i < 32; i++) {
+                if (hex(s.charAt(i)) == -1) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (length != 36) {
+            return false;
+        }
+
+        for (int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (hex(c) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a UUID.
+     *
+     * @param s The characters
+     * @return The UUID, or null if the input is not a UUID
+     */
+    @Nullable
+    public static UUID parse(@NotNull CharSequence s) {
+        if (!looksLikeUUID(s)) {
+            return null;
+        }
+
+        boolean dashed = s.length() == 36;
+        long most = 0;
+        long least = 0;
+        int digit = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (dashed && s.charAt(i) == '-') {
+                continue;
+            }
+            int value = hex(s.charAt(i));
+            if (digit < 16) {
+                most = (most << 4) | value;
+            } else {
+                least = (least << 4) | value;
+            }
+            digit++;
+        }
+        return new UUID(most, least);
+    }
+
+    /**
+     * Parses a UUID.
+     *
+     * @param s The string
+     * @return The UUID, if present
+     */
+    @NotNull
+    public static Optional<UUID> parseSafely(@Nullable String s) {
+        return s == null ? Optional.empty() : Optional.ofNullable(parse(s));
+    }
+
+    private static int hex(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,107 @@
+package tsp.papercommands.command;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drives {@link PaperCommand#asyncTabHandler(CommandContext) asynchronous tab completion} from Paper's {@link AsyncTabCompleteEvent}.
+ * One listener is registered per plugin, commands are looked up by label in a concurrent map.
+ *
+ * @author TheSilentPro (Silent)
+ * @see PaperCommand#isAsyncTabComplete()
+ */
+public final class AsyncTabCompleter implements Listener {
+
+    private static final Map<Plugin, AsyncTabCompleter> COMPLETERS = new WeakHashMap<>();
+
+    private final Map<String, PaperCommand> commands = new ConcurrentHashMap<>();
+
+    private AsyncTabCompleter() {}
+
+    /**
+     * Get the completer of a plugin, registering its listener if needed.
+     *
+     * @param plugin The owning plugin
+     * @return The completer
+     */
+    @NotNull
+    public static AsyncTabCompleter of(@NotNull Plugin plugin) {
+        synchronized (COMPLETERS) {
+            AsyncTabCompleter completer = COMPLETERS.get(plugin);
+            if (completer == null) {
+                completer = new AsyncTabCompleter();
+                Bukkit.getPluginManager().registerEvents(completer, plugin);
+                COMPLETERS.put(plugin, completer);
+            }
+            return completer;
+        }
+    }
+
+    /**
+     * Route completions for the labels to a command.
+     *
+     * @param command The command
+     * @param labels The labels, including aliases
+     */
+    public void add(@NotNull PaperCommand command, @NotNull Collection<String> labels) {
+        for (String label : labels) {
+            commands.put(label.toLowerCase(Locale.ROOT), command);
+        }
+    }
+
+    /**
+     * Stop routing completions for the labels.
+     *
+     * @param labels The labels
+     */
+    public void remove(@NotNull Collection<String> labels) {
+        for (String label : labels) {
+            commands.remove(label.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand()) {
+            return;
+        }
+
+        String buffer = event.getBuffer();
+        int start = buffer.startsWith("/") ? 1 : 0;
+        int space = buffer.indexOf(' ', start);
+        if (space == -1) {
+            return; // Still typing the label
+        }
+
+        PaperCommand command = commands.get(buffer.substring(start, space).toLowerCase(Locale.ROOT));
+        if (command == null) {
+            return;
+        }
+
+        CommandSender sender = event.getSender();
+        Optional<String> permission = command.getPermission();
+        if (permission.isPresent() && !sender.hasPermission(permission.get())) {
+            event.setCompletions(List.of());
+            event.setHandled(true);
+            return;
+        }
+
+        // Same splitting as the command map, empty strings are kept for the argument being typed.
+        String[] args = buffer.substring(space + 1).split(" ", -1);
+        List<String> completions = command.complete(sender, args, true);
+        if (completions != null) {
+            event.setCompletions(completions);
+            event.setHandled(true);
+        }
+    }
+
+}
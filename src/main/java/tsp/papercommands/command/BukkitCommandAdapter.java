@@ -0,0 +1,52 @@
+package tsp.papercommands.command;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginIdentifiableCommand;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Exposes a {@link PaperCommand} as a Bukkit {@link org.bukkit.command.Command}, registered to the command map without plugin.yml.
+ *
+ * @author TheSilentPro (Silent)
+ * @see CommandBatch
+ */
+final class BukkitCommandAdapter extends org.bukkit.command.Command implements PluginIdentifiableCommand {
+
+    private final PaperCommand command;
+    private final Plugin plugin;
+
+    BukkitCommandAdapter(PaperCommand command, Plugin plugin) {
+        super(command.getName(), command.getDescription().orElse(""), command.getUsage().map(usage -> "/" + command.getName() + " " + usage).orElse("/" + command.getName()), command.getAliases());
+        this.command = command;
+        this.plugin = plugin;
+        // Used by the server to hide the command from players without permission, the command still checks it on execution.
+        command.getPermission().ifPresent(this::setPermission);
+    }
+
+    PaperCommand command() {
+        return command;
+    }
+
+    @Override
+    public boolean execute(@NotNull CommandSender sender, @NotNull String label, @NotNull String @NotNull [] args) {
+        command.execute(sender, label, args);
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public List<String> tabComplete(@NotNull CommandSender sender, @NotNull String alias, @NotNull String @NotNull [] args) throws IllegalArgumentException {
+        List<String> completions = command.complete(sender, args, false);
+        return completions != null ? completions : super.tabComplete(sender, alias, args);
+    }
+
+    @NotNull
+    @Override
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+}
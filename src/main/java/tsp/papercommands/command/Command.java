@@ -2,6 +2,7 @@ package tsp.papercommands.command;
 
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.PluginCommand;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.List;
@@ -26,6 +27,34 @@ public interface Command {
      */
     Optional<String> getUsage();
 
+    /**
+     * The aliases, used when registering without plugin.yml.
+     *
+     * @return Aliases
+     */
+    default List<String> getAliases() {
+        return List.of();
+    }
+
+    /**
+     * The description, used when registering without plugin.yml.
+     *
+     * @return Description
+     */
+    default Optional<String> getDescription() {
+        return Optional.empty();
+    }
+
+    /**
+     * The options declared by this command. Undeclared options are still accepted as flags.
+     *
+     * @return Options
+     * @see CommandContext#hasOption(String)
+     */
+    default CommandOptions getOptions() {
+        return CommandOptions.NONE;
+    }
+
     /**
      * The permission required to execute this command.
      *
@@ -33,6 +62,15 @@ public interface Command {
      */
     Optional<String> getPermission();
 
+    /**
+     * The plugin this command is registered to.
+     *
+     * @return The plugin, if registered
+     */
+    default Optional<Plugin> getPlugin() {
+        return Optional.empty();
+    }
+
     /**
      * The handler.
      *
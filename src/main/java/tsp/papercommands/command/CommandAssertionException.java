@@ -2,18 +2,44 @@ package tsp.papercommands.command;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
 
 /**
+ * Thrown when a command fails an assertion.
+ * Failed assertions are part of normal control flow, so this exception does not capture a stack trace
+ * and only serializes its message when {@link #getMessage()} is called.
+ *
  * @author TheSilentPro (Silent)
  */
 public class CommandAssertionException extends RuntimeException {
 
+    @Nullable
+    private final Component component;
+
     public CommandAssertionException(Component message) {
-        super(message != null ? PlainTextComponentSerializer.plainText().serialize(message) : "Assertion failed!");
+        super(message != null ? null : "Assertion failed!", null, false, false);
+        this.component = message;
     }
 
     public CommandAssertionException() {
-        super("Command failed an assertion!");
+        super("Command failed an assertion!", null, false, false);
+        this.component = null;
+    }
+
+    /**
+     * The message of the failed assertion.
+     *
+     * @return The message, if present
+     */
+    public Optional<Component> getComponent() {
+        return Optional.ofNullable(component);
+    }
+
+    @Override
+    public String getMessage() {
+        return component != null ? PlainTextComponentSerializer.plainText().serialize(component) : super.getMessage();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package tsp.papercommands.command;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandMap;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Registers many {@link PaperCommand commands} to the {@link CommandMap} at once, without plugin.yml entries.
+ * The command tree is sent to players once per {@link #register()} or {@link #unregister()}, instead of once per command.
+ * <p>
+ * Both operations are all-or-nothing from the point of view of players and must be called from the main thread.
+ * If a command fails to register, the commands of the batch registered before it are removed again and the exception is rethrown:
+ * <pre>{@code
+ * CommandBatch batch = CommandBatch.of(plugin).add(new FooCommand(), new BarCommand());
+ * batch.register();   // onEnable
+ * batch.unregister(); // onDisable or before re-registering on reload
+ * }</pre>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class CommandBatch {
+
+    private final Plugin plugin;
+    private final CommandMap commandMap;
+    private final Runnable sync;
+    private final List<PaperCommand> commands = new ArrayList<>();
+    private final List<BukkitCommandAdapter> registered = new ArrayList<>();
+
+    /**
+     * Create a batch.
+     *
+     * @param plugin The owning plugin
+     * @param commandMap The command map
+     * @param sync Sends the updated command tree to players
+     */
+    public CommandBatch(@NotNull Plugin plugin, @NotNull CommandMap commandMap, @NotNull Runnable sync) {
+        this.plugin = plugin;
+        this.commandMap = commandMap;
+        this.sync = sync;
+    }
+
+    /**
+     * Create a batch for the server's command map.
+     *
+     * @param plugin The owning plugin
+     * @return The batch
+     */
+    @NotNull
+    public static CommandBatch of(@NotNull Plugin plugin) {
+        return new CommandBatch(plugin, Bukkit.getCommandMap(), () -> syncCommands(plugin));
+    }
+
+    /**
+     * Add commands to register.
+     *
+     * @param commands The commands
+     * @return This batch
+     */
+    @NotNull
+    public CommandBatch add(@NotNull PaperCommand... commands) {
+        return addAll(Arrays.asList(commands));
+    }
+
+    /**
+     * Add commands to register.
+     *
+     * @param commands The commands
+     * @return This batch
+     */
+    @NotNull
+    public synchronized CommandBatch addAll(@NotNull Collection<? extends PaperCommand> commands) {
+        this.commands.addAll(commands);
+        return this;
+    }
+
+    /**
+     * Register every added command, then resync the command tree once. Does nothing if already registered.
+     *
+     * @throws RuntimeException If the command map rejects a command, the batch is left unregistered
+     */
+    public synchronized void register() {
+        if (!registered.isEmpty() || commands.isEmpty()) {
+            return;
+        }
+
+        String prefix = plugin.getName().toLowerCase(Locale.ROOT);
+        try {
+            for (PaperCommand command : commands) {
+                command.attach(plugin);
+                BukkitCommandAdapter adapter = new BukkitCommandAdapter(command, plugin);
+                // Tracked before registering, the map may have taken some labels before failing.
+                registered.add(adapter);
+                commandMap.register(prefix, adapter);
+            }
+        } catch (RuntimeException | Error ex) {
+            // Players were not resynced yet, so removing the commands again is invisible to them.
+            removeAll();
+            throw ex;
+        }
+
+        for (BukkitCommandAdapter adapter : registered) {
+            PaperCommand command = adapter.command();
+            if (command.isAsyncTabComplete()) {
+                AsyncTabCompleter.of(plugin).add(command, labels(adapter));
+            }
+        }
+        sync.run();
+    }
+
+    /**
+     * Remove every registered command from the command map, then resync the command tree once.
+     * Labels that were taken over by another command in the meantime are left untouched.
+     */
+    public synchronized void unregister() {
+        if (registered.isEmpty()) {
+            return;
+        }
+
+        for (BukkitCommandAdapter adapter : registered) {
+            if (adapter.command().isAsyncTabComplete()) {
+                AsyncTabCompleter.of(plugin).remove(labels(adapter));
+            }
+        }
+        removeAll();
+        sync.run();
+    }
+
+    /**
+     * Remove the registered commands from the command map, without resyncing.
+     */
+    private void removeAll() {
+        Map<String, org.bukkit.command.Command> known = commandMap.getKnownCommands();
+        for (BukkitCommandAdapter adapter : registered) {
+            for (String label : labels(adapter)) {
+                known.remove(label, adapter);
+            }
+            adapter.unregister(commandMap);
+        }
+        registered.clear();
+    }
+
+    /**
+     * Whether the commands are registered.
+     *
+     * @return Whether registered
+     */
+    public synchronized boolean isRegistered() {
+        return !registered.isEmpty();
+    }
+
+    private List<String> labels(BukkitCommandAdapter adapter) {
+        return PaperCommand.labels(plugin, adapter.getName(), adapter.getAliases());
+    }
+
+    /**
+     * Rebuild and resend the command tree. {@code CraftServer#syncCommands} is not part of the API,
+     * if it can not be found every online player is updated instead.
+     */
+    private static void syncCommands(Plugin plugin) {
+        try {
+            Method method = Bukkit.getServer().getClass().getMethod("syncCommands");
+            method.invoke(Bukkit.getServer());
+            return;
+        } catch (ReflectiveOperationException ex) {
+            plugin.getLogger().log(Level.FINE, "Unable to sync commands, updating players instead", ex);
+        }
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            player.updateCommands();
+        }
+    }
+
+}
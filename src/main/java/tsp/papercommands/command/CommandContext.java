@@ -1,15 +1,28 @@
 package tsp.papercommands.command;
 
 import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import tsp.papercommands.argument.Argument;
+import tsp.papercommands.argument.ArgumentResult;
+import tsp.papercommands.argument.UnionValue;
+import tsp.papercommands.argument.parser.ArgumentUnion;
+import tsp.papercommands.argument.parser.OfflinePlayerResolver;
+import tsp.papercommands.cooldown.Cooldown;
+import tsp.papercommands.message.MessageTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 /**
@@ -47,6 +60,35 @@ public interface CommandContext<S> {
      */
     Optional<String> rawArg(int index);
 
+    /**
+     * Parse an argument as any of several types, classifying it once instead of trying every parser.
+     *
+     * @param index The position of the argument
+     * @param union The union, e.g. {@code ArgumentUnion.of(Player.class, UUID.class, Integer.class)}, best kept in a constant
+     * @return The value tagged with its type, if a member could parse the argument
+     */
+    default Optional<UnionValue> unionArg(int index, @NotNull ArgumentUnion union) {
+        return rawArg(index).flatMap(union::parse);
+    }
+
+    /**
+     * Get a single argument as a view over the command line, without copying it into a new string.
+     * Quoted arguments are unquoted, e.g. {@code "a multi word reason"} is one argument.
+     *
+     * @param index The position of the argument
+     * @return The argument, if present
+     */
+    Optional<CharSequence> argView(int index);
+
+    /**
+     * Get the text from an argument to the end of the command line, as typed including its spacing and quotes.
+     * Used for free-text arguments such as reasons or messages.
+     *
+     * @param from The position of the first argument
+     * @return The text, empty if there are no arguments from the position
+     */
+    CharSequence greedy(int from);
+
     /**
      * Get a single argument.
      *
@@ -63,6 +105,40 @@ public interface CommandContext<S> {
      */
     Optional<Argument> argOpt(int index);
 
+    /**
+     * Get a single argument as an {@code int}, without boxing.
+     *
+     * @param index The position of the argument
+     * @return The value, or empty if missing or not a valid int
+     */
+    OptionalInt intArg(int index);
+
+    /**
+     * Get a single argument as a {@code long}, without boxing.
+     *
+     * @param index The position of the argument
+     * @return The value, or empty if missing or not a valid long
+     */
+    OptionalLong longArg(int index);
+
+    /**
+     * Get a single argument as a {@code double}, without boxing.
+     *
+     * @param index The position of the argument
+     * @return The value, or empty if missing or not a valid double
+     */
+    OptionalDouble doubleArg(int index);
+
+    /**
+     * Resolve an argument as an {@link OfflinePlayer} by name or UUID without blocking.
+     * Names that are not online or cached are looked up off the main thread, the future may complete on any thread.
+     *
+     * @param index The position of the argument
+     * @return A future of the player, empty if missing or no such player exists
+     * @see OfflinePlayerResolver
+     */
+    CompletableFuture<Optional<OfflinePlayer>> offlinePlayerArg(int index);
+
     /**
      * Get an array of arguments.
      *
@@ -70,6 +146,37 @@ public interface CommandContext<S> {
      */
     Argument[] args();
 
+    /**
+     * Get a typed value bound by the command's {@link CommandSignature}.
+     *
+     * @param slot The position of the slot
+     * @return The value, or null if an optional slot was not provided
+     * @param <U> The type of the slot
+     * @throws IllegalStateException If this context was not bound to a signature
+     */
+    <U> U value(int slot);
+
+    /**
+     * Get a typed value bound by the command's {@link CommandSignature}.
+     *
+     * @param name The name of the slot
+     * @return The value, or null if an optional slot was not provided
+     * @param <U> The type of the slot
+     * @throws IllegalStateException If this context was not bound to a signature
+     */
+    <U> U value(String name);
+
+    /**
+     * Get an optional typed value bound by the command's {@link CommandSignature}.
+     *
+     * @param slot The position of the slot
+     * @return The value, if present
+     * @param <U> The type of the slot
+     */
+    default <U> Optional<U> valueOpt(int slot) {
+        return Optional.ofNullable(value(slot));
+    }
+
     /**
      * The prefix used for options.
      * Options are filtered out of the command and can be retrieved via {@link #options()}.
@@ -81,19 +188,89 @@ public interface CommandContext<S> {
 
     /**
      * Gets the set of options for this context.
+     * Declared options are listed under their long name, including when passed by short name.
      *
      * @return Options set
      */
     Set<String> options();
 
+    /**
+     * Whether an option was passed. Declared options match by long name ignoring case, whichever form was used.
+     *
+     * @param name The long name of the option
+     * @return Whether present
+     * @see Command#getOptions()
+     */
+    boolean hasOption(@NotNull String name);
+
+    /**
+     * The raw value of an option, e.g. {@code 10} for {@code --radius=10} or {@code -r 10}.
+     *
+     * @param name The long name of the option
+     * @return The value, if the option was passed with one
+     */
+    Optional<String> optionValue(@NotNull String name);
+
+    /**
+     * The value of an option, parsed through {@link tsp.papercommands.argument.parser.ArgumentParsers ArgumentParsers}.
+     *
+     * @param name The long name of the option
+     * @param type The type of the value
+     * @return The value, if the option was passed with a value that could be parsed
+     * @param <U> The type
+     */
+    <U> Optional<U> option(@NotNull String name, @NotNull Class<U> type);
+
+    /**
+     * The value of a declared option, parsed as its declared type.
+     *
+     * @param name The long name of the option
+     * @return The value, if the option was passed with a value that could be parsed
+     * @param <U> The type
+     * @throws java.util.NoSuchElementException If the command does not declare a valued option with this name
+     */
+    <U> Optional<U> option(@NotNull String name);
+
     /**
      * Reply to the comman sender with a message.
+     * Safe from any thread, off the main thread the message is sent on the next tick.
      *
      * @param message The message
      * @return Context
      */
     CommandContext<S> reply(Component message);
 
+    /**
+     * Reply to the command sender with a rendered template.
+     * Safe from any thread, off the main thread the message is sent on the next tick.
+     *
+     * @param template The template
+     * @param values The values of the slots by name
+     * @return Context
+     */
+    default CommandContext<S> reply(MessageTemplate template, Map<String, ?> values) {
+        return reply(template.render(values));
+    }
+
+    /**
+     * Run a task on the main thread, inline if already on it.
+     * Use this from {@link ExecutionMode#ASYNC asynchronous} handlers for Bukkit API calls.
+     *
+     * @param task The task
+     * @return A future completed after the task ran
+     */
+    CompletableFuture<Void> runSync(Runnable task);
+
+    /**
+     * Compute a value on the main thread, inline if already on it.
+     * Use this from {@link ExecutionMode#ASYNC asynchronous} handlers for Bukkit API calls.
+     *
+     * @param task The task
+     * @return A future of the value
+     * @param <R> The type of the value
+     */
+    <R> CompletableFuture<R> callSync(Supplier<R> task);
+
     // Checkers/Validators
 
     boolean hasPermission(@NotNull String permission);
@@ -104,10 +281,33 @@ public interface CommandContext<S> {
 
     boolean isArgument(int index, Class<?> type);
 
+    /**
+     * Parse an argument without throwing, the non-throwing counterpart of {@link #validateArgument(int, Class)}.
+     *
+     * @param index The argument index
+     * @param type The argument type
+     * @return The result
+     * @param <U> The type
+     */
+    <U> ArgumentResult<U> checkArgument(int index, Class<U> type);
+
     <U> U validateArgument(int index, Class<U> type, Component failureMessage);
 
     <U> U validateArgument(int index, Class<U> type, UnaryOperator<Component> failureMessage);
 
+    /**
+     * Parse an argument, replying with a template if it is missing or invalid.
+     * The template may use the {@code {arg}} (raw input) and {@code {index}} slots.
+     *
+     * @param index The argument index
+     * @param type The argument type
+     * @param failureMessage The template of the failure message
+     * @return The value
+     * @param <U> The type
+     * @throws CommandAssertionException If the argument is missing or invalid
+     */
+    <U> U validateArgument(int index, Class<U> type, MessageTemplate failureMessage);
+
     default <U> U validateArgument(int index, Class<U> type) {
         return validateArgument(index, type, (Component) null);
     }
@@ -176,6 +376,18 @@ public interface CommandContext<S> {
         return assertPermission(permission, null);
     }
 
+    /**
+     * Assert that the sender is not on a cooldown, then start it. Otherwise the cooldown's message is sent.
+     * Safe from {@link ExecutionMode#ASYNC asynchronous} handlers.
+     *
+     * @param cooldown The cooldown
+     * @return Context
+     */
+    default CommandContext<S> assertCooldown(Cooldown cooldown) {
+        long remaining = cooldown.tryAcquire((CommandSender) sender());
+        return remaining == 0 ? this : assertion(false, cooldown.message(remaining));
+    }
+
 
     /**
      * Assert that the sender is a {@link ConsoleCommandSender}.
@@ -0,0 +1,29 @@
+package tsp.papercommands.command;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A declared option of a command, either a flag ({@code --silent}, {@code -s}) or a valued option
+ * ({@code --radius=10}, {@code --radius 10}, {@code -r 10}, {@code -r10}) whose value is parsed through
+ * {@link tsp.papercommands.argument.parser.ArgumentParsers ArgumentParsers}.
+ *
+ * @param name The long name
+ * @param shortName The single character name, or {@code 0} for none
+ * @param type The type of the value, or null for a flag
+ * @param index The position of the option in its {@link CommandOptions}, assigned when built
+ * @author TheSilentPro (Silent)
+ * @see CommandOptions
+ */
+public record CommandOption(@NotNull String name, char shortName, @Nullable Class<?> type, int index) {
+
+    /**
+     * Whether this option takes a value.
+     *
+     * @return Whether valued
+     */
+    public boolean isValued() {
+        return type != null;
+    }
+
+}
@@ -0,0 +1,173 @@
+package tsp.papercommands.command;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The immutable set of {@link CommandOption options} declared by a {@link Command}, compiled once for lookups by long or short name.
+ * At most {@value #MAX_OPTIONS} options can be declared, their presence is tracked in a single {@code long} per invocation.
+ *
+ * <pre>{@code
+ * private static final CommandOptions OPTIONS = CommandOptions.builder()
+ *         .flag("silent", 's')
+ *         .option("radius", 'r', Integer.class)
+ *         .build();
+ * }</pre>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class CommandOptions {
+
+    /**
+     * The maximum amount of declared options.
+     */
+    public static final int MAX_OPTIONS = Long.SIZE;
+
+    /**
+     * No declared options.
+     */
+    public static final CommandOptions NONE = new CommandOptions(List.of());
+
+    private final List<CommandOption> options;
+    private final Map<String, CommandOption> byName;
+    private final CommandOption[] byShortName = new CommandOption[128];
+
+    private CommandOptions(List<CommandOption> options) {
+        this.options = options;
+        Map<String, CommandOption> byName = new HashMap<>();
+        for (CommandOption option : options) {
+            byName.put(option.name().toLowerCase(Locale.ROOT), option);
+            if (option.shortName() != 0) {
+                byShortName[option.shortName()] = option;
+            }
+        }
+        this.byName = Map.copyOf(byName);
+    }
+
+    @NotNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get an option by long name, ignoring case.
+     *
+     * @param name The name
+     * @return The option, or null if not declared
+     */
+    @Nullable
+    public CommandOption get(@NotNull String name) {
+        return byName.isEmpty() ? null : byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Get an option by short name.
+     *
+     * @param shortName The short name
+     * @return The option, or null if not declared
+     */
+    @Nullable
+    public CommandOption get(char shortName) {
+        return shortName < byShortName.length ? byShortName[shortName] : null;
+    }
+
+    /**
+     * The declared options, in declaration order.
+     *
+     * @return The options
+     */
+    @NotNull
+    public List<CommandOption> list() {
+        return options;
+    }
+
+    public boolean isEmpty() {
+        return options.isEmpty();
+    }
+
+    /**
+     * Builder for {@link CommandOptions}.
+     */
+    public static final class Builder {
+
+        private final List<CommandOption> options = new ArrayList<>();
+
+        private Builder() {}
+
+        /**
+         * Declare a flag.
+         *
+         * @param name The long name
+         * @param shortName The short name, or {@code 0} for none
+         * @return This builder
+         */
+        @NotNull
+        public Builder flag(@NotNull String name, char shortName) {
+            return add(name, shortName, null);
+        }
+
+        /**
+         * Declare a flag without a short name.
+         *
+         * @param name The long name
+         * @return This builder
+         */
+        @NotNull
+        public Builder flag(@NotNull String name) {
+            return add(name, (char) 0, null);
+        }
+
+        /**
+         * Declare a valued option.
+         *
+         * @param name The long name
+         * @param shortName The short name, or {@code 0} for none
+         * @param type The type of the value
+         * @return This builder
+         */
+        @NotNull
+        public Builder option(@NotNull String name, char shortName, @NotNull Class<?> type) {
+            return add(name, shortName, type);
+        }
+
+        /**
+         * Declare a valued option without a short name.
+         *
+         * @param name The long name
+         * @param type The type of the value
+         * @return This builder
+         */
+        @NotNull
+        public Builder option(@NotNull String name, @NotNull Class<?> type) {
+            return add(name, (char) 0, type);
+        }
+
+        private Builder add(String name, char shortName, Class<?> type) {
+            if (name.isEmpty() || name.indexOf('=') != -1 || name.indexOf(' ') != -1) {
+                throw new IllegalArgumentException("Invalid option name: " + name);
+            }
+            if (shortName >= 128 || (shortName != 0 && !Character.isLetter(shortName))) {
+                throw new IllegalArgumentException("Short name must be an ASCII letter: " + shortName);
+            }
+            for (CommandOption option : options) {
+                if (option.name().equalsIgnoreCase(name) || (shortName != 0 && option.shortName() == shortName)) {
+                    throw new IllegalArgumentException("Duplicate option: " + name);
+                }
+            }
+            if (options.size() >= MAX_OPTIONS) {
+                throw new IllegalArgumentException("Too many options, the maximum is " + MAX_OPTIONS);
+            }
+            options.add(new CommandOption(name, shortName, type, options.size()));
+            return this;
+        }
+
+        @NotNull
+        public CommandOptions build() {
+            return options.isEmpty() ? NONE : new CommandOptions(List.copyOf(options));
+        }
+
+    }
+
+}
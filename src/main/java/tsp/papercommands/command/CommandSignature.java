@@ -0,0 +1,269 @@
+package tsp.papercommands.command;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.papercommands.argument.ArgumentTokens;
+import tsp.papercommands.argument.UnionValue;
+import tsp.papercommands.argument.parser.ArgumentParser;
+import tsp.papercommands.argument.parser.ArgumentParsers;
+import tsp.papercommands.argument.parser.ArgumentUnion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A compiled form of a command usage string.
+ * The usage is split into {@link Slot slots} once, each slot already bound to its {@link ArgumentParser}.
+ * <p>
+ * Format: {@code <name>} is a required argument, {@code [name]} is an optional one.
+ * A type can be bound with {@code <name:type>} where type is an alias known to {@link ArgumentParsers#findType(String)},
+ * untyped slots are plain strings. A trailing {@code ...} marks the last slot as greedy,
+ * consuming the rest of the command line as typed, e.g. {@code <player> <amount:int> [reason...]}.
+ * Quotes are kept when a greedy slot spans several arguments, but a single quoted argument is unquoted,
+ * so {@code "being rude"} binds {@code being rude} to both {@code <reason>} and {@code [reason...]}.
+ * {@code <name:player|uuid|int>} accepts any of several types as a {@link UnionValue}, see {@link ArgumentUnion}.
+ * Arguments may be quoted to contain spaces, see {@link tsp.papercommands.argument.ArgumentTokens ArgumentTokens}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class CommandSignature {
+
+    private final String usage;
+    private final Slot[] slots;
+    private final int required;
+
+    private CommandSignature(String usage, Slot[] slots, int required) {
+        this.usage = usage;
+        this.slots = slots;
+        this.required = required;
+    }
+
+    /**
+     * Compile a usage string.
+     *
+     * @param usage The usage string
+     * @return The compiled signature
+     * @throws IllegalArgumentException If a type is unknown or a greedy slot is not the last one
+     */
+    @NotNull
+    public static CommandSignature compile(@NotNull String usage) throws IllegalArgumentException {
+        List<Slot> slots = new ArrayList<>();
+        int required = 0;
+        int start = 0;
+        int length = usage.length();
+        while (start < length) {
+            int end = usage.indexOf(' ', start);
+            if (end == -1) {
+                end = length;
+            }
+            if (end > start) {
+                Slot slot = compileSlot(usage, usage.substring(start, end), slots.size());
+                if (!slots.isEmpty() && slots.get(slots.size() - 1).greedy()) {
+                    throw new IllegalArgumentException("Greedy argument must be last in usage: " + usage);
+                }
+                if (!slot.optional()) {
+                    required++;
+                }
+                slots.add(slot);
+            }
+            start = end + 1;
+        }
+
+        return new CommandSignature(usage, slots.toArray(new Slot[0]), required);
+    }
+
+    private static Slot compileSlot(String usage, String part, int index) {
+        // Even if it doesn't have arrow brackets("<>"), assume the argument is required.
+        boolean optional = part.startsWith("[") || part.endsWith("]");
+        String name = part;
+        if ((name.startsWith("<") && name.endsWith(">")) || (name.startsWith("[") && name.endsWith("]"))) {
+            name = name.substring(1, name.length() - 1);
+        }
+
+        boolean greedy = name.endsWith("...");
+        if (greedy) {
+            name = name.substring(0, name.length() - 3);
+        }
+
+        Class<?> type = String.class;
+        int separator = name.indexOf(':');
+        if (separator != -1) {
+            String alias = name.substring(separator + 1);
+            name = name.substring(0, separator);
+            if (alias.indexOf('|') != -1) {
+                return new Slot(index, name, UnionValue.class, union(usage, alias), optional, greedy);
+            }
+            type = findType(usage, alias);
+        }
+
+        Class<?> finalType = type;
+        ArgumentParser<?> parser = ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new IllegalArgumentException("Unable to find ArgumentParser for " + finalType + " in usage: " + usage));
+        return new Slot(index, name, type, parser, optional, greedy);
+    }
+
+    private static Class<?> findType(String usage, String alias) {
+        return ArgumentParsers.INSTANCE.findType(alias).orElseThrow(() -> new IllegalArgumentException("Unknown argument type '" + alias + "' in usage: " + usage));
+    }
+
+    /**
+     * Compile a union of type aliases such as {@code player|uuid|int}.
+     */
+    private static ArgumentUnion union(String usage, String aliases) {
+        ArgumentUnion.Builder builder = ArgumentUnion.builder();
+        for (String alias : aliases.split("\\|")) {
+            Class<?> type = findType(usage, alias);
+            try {
+                builder.with(type);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(ex.getMessage() + " in usage: " + usage, ex);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * The original usage string.
+     *
+     * @return Usage
+     */
+    @NotNull
+    public String usage() {
+        return usage;
+    }
+
+    /**
+     * The amount of required slots.
+     *
+     * @return Required slots
+     */
+    public int required() {
+        return required;
+    }
+
+    /**
+     * The total amount of slots.
+     *
+     * @return Slot count
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * Get a slot by its position.
+     *
+     * @param index The position of the slot
+     * @return The slot
+     */
+    @NotNull
+    public Slot slot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * Find the position of a slot by name.
+     *
+     * @param name The slot name
+     * @return The position, or -1 if not found
+     */
+    public int indexOf(@NotNull String name) {
+        for (Slot slot : slots) {
+            if (slot.name().equals(name)) {
+                return slot.index();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the slot an argument at a position belongs to.
+     * Positions past a trailing greedy slot belong to that slot.
+     *
+     * @param position The position of the argument
+     * @return The slot, or null if the position is past the last slot
+     */
+    @Nullable
+    public Slot slotAt(int position) {
+        if (slots.length == 0) {
+            return null;
+        }
+        if (position >= slots.length) {
+            Slot last = slots[slots.length - 1];
+            return last.greedy() ? last : null;
+        }
+        return slots[position];
+    }
+
+    /**
+     * Suggest values for the argument being typed at a position.
+     * Positions past a trailing greedy slot belong to that slot.
+     *
+     * @param position The position of the argument
+     * @param input The partial input
+     * @return The suggestions, or null if the position is past the last slot
+     */
+    @Nullable
+    public List<String> suggest(int position, @NotNull String input) {
+        Slot slot = slotAt(position);
+        return slot != null ? slot.parser().suggest(input) : null;
+    }
+
+    /**
+     * Check the arity and parse every argument in one pass.
+     *
+     * @param args The raw arguments
+     * @return The parsed values by slot, or null if the arguments do not match this signature
+     */
+    @Nullable
+    public Object[] bind(@NotNull List<String> args) {
+        if (args.size() < required) {
+            return null;
+        }
+
+        Object[] values = new Object[slots.length];
+        for (Slot slot : slots) {
+            int index = slot.index();
+            if (index >= args.size()) {
+                if (slot.optional()) {
+                    continue;
+                }
+                return null;
+            }
+
+            String raw = slot.greedy() ? greedy(args, index) : args.get(index);
+            Optional<?> value = slot.parser().parse(raw);
+            if (value.isEmpty()) {
+                return null;
+            }
+            values[index] = value.get();
+        }
+        return values;
+    }
+
+    private static String greedy(List<String> args, int from) {
+        // Tokenized arguments keep the original spacing of the line, a single quoted argument is unquoted like other slots.
+        if (args instanceof ArgumentTokens tokens) {
+            return from == tokens.size() - 1 ? tokens.get(from) : tokens.greedy(from).toString();
+        }
+        return String.join(" ", args.subList(from, args.size()));
+    }
+
+    @Override
+    public String toString() {
+        return usage;
+    }
+
+    /**
+     * A single compiled argument of a {@link CommandSignature}.
+     *
+     * @param index The position of the argument
+     * @param name The name of the argument
+     * @param type The type of the argument
+     * @param parser The parser bound to the type
+     * @param optional Whether the argument is optional
+     * @param greedy Whether the argument consumes all remaining arguments
+     */
+    public record Slot(int index, @NotNull String name, @NotNull Class<?> type, @NotNull ArgumentParser<?> parser, boolean optional, boolean greedy) {}
+
+}
@@ -0,0 +1,21 @@
+package tsp.papercommands.command;
+
+/**
+ * Where a {@link PaperCommand} runs its handler.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public enum ExecutionMode {
+
+    /**
+     * The handler runs inline on the server thread.
+     */
+    SYNC,
+
+    /**
+     * The handler runs on a virtual thread, use {@link CommandContext#runSync(Runnable)} and
+     * {@link CommandContext#callSync(java.util.function.Supplier)} for Bukkit API calls.
+     */
+    ASYNC
+
+}
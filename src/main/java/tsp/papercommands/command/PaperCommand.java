@@ -1,18 +1,31 @@
 package tsp.papercommands.command;
 
 import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.command.TabExecutor;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import tsp.papercommands.argument.parser.IndexReloadListener;
+import tsp.papercommands.argument.parser.PlayerIndex;
+import tsp.papercommands.cooldown.Cooldown;
+import tsp.papercommands.message.MessageTemplate;
+import tsp.papercommands.metrics.CommandMetrics;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
-import java.util.regex.Pattern;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * An abstract implementation of a {@link Command}.
@@ -21,28 +34,42 @@ import java.util.regex.Pattern;
  */
 public class PaperCommand implements Command, CommandExecutor, TabExecutor {
 
-    private static final Pattern USAGE_PATTERN = Pattern.compile(" ");
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
 
     @NotNull
     private final String name;
     @Nullable
     private final String usage;
     @Nullable
+    private final CommandSignature signature;
+    @Nullable
     private final String permission;
     @Nullable
     private final Component usageMessage;
     @Nullable
     private final Component permissionMessage;
     @Nullable
+    private final MessageTemplate usageTemplate;
+    @Nullable
+    private final MessageTemplate permissionTemplate;
+    @Nullable
     private final Consumer<CommandContext<CommandSender>> handler;
+    @NotNull
+    private final CommandMetrics.Recorder metrics;
+    @Nullable
+    private volatile Plugin plugin;
 
     public PaperCommand(@NotNull String name, @Nullable String usage, @Nullable String permission, @Nullable Component usageMessage, @Nullable Component permissionMessage, @Nullable Consumer<CommandContext<CommandSender>> handler) {
         this.name = name;
         this.usage = usage;
+        this.signature = usage != null ? CommandSignature.compile(usage) : null;
         this.permission = permission;
         this.usageMessage = usageMessage;
         this.permissionMessage = permissionMessage;
+        this.usageTemplate = usageMessage != null ? MessageTemplate.compile(usageMessage) : null;
+        this.permissionTemplate = permissionMessage != null ? MessageTemplate.compile(permissionMessage) : null;
         this.handler = handler;
+        this.metrics = CommandMetrics.INSTANCE.recorder(name);
     }
 
     public PaperCommand(@NotNull String name, @Nullable String usage) {
@@ -71,6 +98,22 @@ public class PaperCommand implements Command, CommandExecutor, TabExecutor {
         return Optional.ofNullable(permission);
     }
 
+    @NotNull
+    @Override
+    public Optional<Plugin> getPlugin() {
+        return Optional.ofNullable(plugin);
+    }
+
+    /**
+     * The compiled signature of the usage.
+     *
+     * @return Signature
+     */
+    @NotNull
+    public Optional<CommandSignature> getSignature() {
+        return Optional.ofNullable(signature);
+    }
+
     public Optional<Component> getUsageMessage(CommandSender sender, String[] args) {
         return Optional.ofNullable(usageMessage);
     }
@@ -79,6 +122,41 @@ public class PaperCommand implements Command, CommandExecutor, TabExecutor {
         return Optional.ofNullable(permissionMessage);
     }
 
+    /**
+     * The usage message as a template with the {@code {usage}} and {@code {label}} slots.
+     * Compiled once from the constructor's message, overridden {@link #getUsageMessage(CommandSender, String[]) messages} are compiled per call.
+     *
+     * @param sender The sender
+     * @param args The raw arguments
+     * @return The template
+     */
+    public Optional<MessageTemplate> getUsageTemplate(CommandSender sender, String[] args) {
+        return getUsageMessage(sender, args).map(message -> message == usageMessage ? usageTemplate : MessageTemplate.compile(message));
+    }
+
+    /**
+     * The permission message as a template with the {@code {permission}} and {@code {label}} slots.
+     * Compiled once from the constructor's message, overridden {@link #getPermissionMessage(CommandSender, String[]) messages} are compiled per call.
+     *
+     * @param sender The sender
+     * @param args The raw arguments
+     * @return The template
+     */
+    public Optional<MessageTemplate> getPermissionTemplate(CommandSender sender, String[] args) {
+        return getPermissionMessage(sender, args).map(message -> message == permissionMessage ? permissionTemplate : MessageTemplate.compile(message));
+    }
+
+    /**
+     * The metrics recorder of this command.
+     *
+     * @return The recorder
+     * @see CommandMetrics
+     */
+    @NotNull
+    public CommandMetrics.Recorder getMetrics() {
+        return metrics;
+    }
+
     @Override
     public void handler(CommandContext<CommandSender> ctx) {
         if (handler != null) {
@@ -86,62 +164,282 @@ public class PaperCommand implements Command, CommandExecutor, TabExecutor {
         }
     }
 
+    /**
+     * The tab handler, by default suggests values for the slot of the {@link CommandSignature} being typed.
+     * Returns null, falling back to player names, if there is no signature or a string or player slot has no suggestions.
+     *
+     * @param ctx The {@link CommandContext}
+     * @return The suggestions
+     */
     public List<String> tabHandler(CommandContext<CommandSender> ctx) {
-        return null;
+        List<String> args = ctx.rawArgs();
+        if (signature == null || args.isEmpty() || signature.size() == 0) {
+            return null;
+        }
+
+        int position = args.size() - 1;
+        CommandSignature.Slot slot = signature.slotAt(position);
+        if (slot == null) {
+            return List.of();
+        }
+        List<String> suggestions = slot.parser().suggest(args.get(position));
+        // Typed slots without a match suggest nothing rather than player names.
+        return suggestions.isEmpty() && (slot.type() == String.class || slot.type() == Player.class) ? null : suggestions;
+    }
+
+    /**
+     * Whether completions are computed off the main thread through {@link #asyncTabHandler(CommandContext)}.
+     * Override to opt in, the command must be {@link #register(JavaPlugin) registered} afterwards.
+     *
+     * @return Whether async tab completion is enabled
+     * @see AsyncTabCompleter
+     */
+    public boolean isAsyncTabComplete() {
+        return false;
+    }
+
+    /**
+     * The asynchronous tab handler, called from Paper's {@code AsyncTabCompleteEvent} when {@link #isAsyncTabComplete()} is enabled.
+     * By default delegates to {@link #tabHandler(CommandContext)}, unless the slot being typed has a
+     * {@link tsp.papercommands.argument.parser.ArgumentParser#isMainThreadOnly() main thread only} parser such as {@link org.bukkit.World},
+     * which then completes on the main thread instead.
+     * <p>
+     * This runs on a netty or async thread, the context is confined to that thread.
+     * Safe: {@link tsp.papercommands.argument.parser.ArgumentParsers parsing and suggestions}, the sender's name and permissions,
+     * reading online players, immutable data and thread-safe caches.
+     * Not safe: worlds, chunks, blocks, entities (other than reading the sender's identity), inventories, scoreboards and
+     * anything else that mutates or reads live game state, schedule those on the main thread instead.
+     *
+     * @param ctx The {@link CommandContext}
+     * @return The suggestions, or null to fall back to the synchronous {@link #tabHandler(CommandContext)}
+     */
+    public List<String> asyncTabHandler(CommandContext<CommandSender> ctx) {
+        List<String> args = ctx.rawArgs();
+        if (signature != null && !args.isEmpty()) {
+            CommandSignature.Slot slot = signature.slotAt(args.size() - 1);
+            if (slot != null && slot.parser().isMainThreadOnly()) {
+                return null;
+            }
+        }
+        return tabHandler(ctx);
+    }
+
+    /**
+     * The cooldown of this command, started when the handler runs after the permission and usage checks passed.
+     * Override to return a shared {@link Cooldown} instance, subcommands of a {@link tsp.papercommands.command.tree.TreeCommand TreeCommand}
+     * can have their own in addition to this one.
+     *
+     * @return The cooldown
+     */
+    @NotNull
+    public Optional<Cooldown> getCooldown() {
+        return Optional.empty();
+    }
+
+    /**
+     * Start the {@link #getCooldown() cooldown} right before the handler runs.
+     * Commands that validate their input inside the handler, such as a {@link tsp.papercommands.command.tree.TreeCommand TreeCommand},
+     * override this and start it once the input is known to be valid.
+     *
+     * @param ctx The {@link CommandContext}
+     * @throws CommandAssertionException If the cooldown is running
+     */
+    protected void startCooldown(CommandContext<CommandSender> ctx) throws CommandAssertionException {
+        Optional<Cooldown> cooldown = getCooldown();
+        if (cooldown.isPresent()) {
+            ctx.assertCooldown(cooldown.get());
+        }
+    }
+
+    /**
+     * Where the handler runs, override to run it on a virtual thread.
+     *
+     * @return The execution mode
+     */
+    @NotNull
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.SYNC;
+    }
+
+    /**
+     * The executor used for {@link ExecutionMode#ASYNC}, a virtual thread per invocation by default.
+     *
+     * @return The executor
+     */
+    @NotNull
+    public Executor getAsyncExecutor() {
+        return ASYNC_EXECUTOR;
     }
 
     @Override
     public boolean onCommand(@NotNull CommandSender sender, org.bukkit.command.@NotNull Command command, @NotNull String s, String @NotNull [] args) {
+        execute(sender, s, args);
+        return true;
+    }
+
+    /**
+     * Validate and run this command.
+     *
+     * @param sender The sender
+     * @param label The label used
+     * @param args The raw arguments
+     * @return A future completed when the handler has finished
+     */
+    @NotNull
+    public CompletableFuture<Void> execute(@NotNull CommandSender sender, @NotNull String label, String @NotNull [] args) {
         // Validate the user has permission
         if (permission != null) {
             if (!sender.hasPermission(permission)) {
-                getPermissionMessage(sender, args).ifPresent(sender::sendMessage);
-                return true;
+                metrics.recordPermissionFailure();
+                getPermissionTemplate(sender, args).ifPresent(template -> sender.sendMessage(template.render(slot -> switch (slot) {
+                    case "permission" -> permission;
+                    case "label" -> label;
+                    default -> null;
+                })));
+                return CompletableFuture.completedFuture(null);
             }
         }
 
-        // Validate usage format
-        if (usage != null) {
-            String[] parts = USAGE_PATTERN.split(usage);
+        // Validate usage format and parse the typed arguments in one pass
+        PaperCommandContext<CommandSender> ctx = new PaperCommandContext<>(sender, this, args);
+        if (signature != null && !ctx.bind(signature)) {
+            metrics.recordUsageFailure();
+            getUsageTemplate(sender, args).ifPresent(template -> sender.sendMessage(template.render(slot -> switch (slot) {
+                case "usage" -> "/" + label + " " + usage;
+                case "label" -> label;
+                default -> null;
+            })));
+            return CompletableFuture.completedFuture(null);
+        }
 
-            int required = 0;
-            for (String part : parts) {
-                if (!part.startsWith("[") && !part.endsWith("]")) { // Even if it doesn't have arrow brackets("<>"), assume the argument is required.
-                    required++;
+        if (getExecutionMode() == ExecutionMode.ASYNC) {
+            return CompletableFuture.runAsync(() -> invoke(ctx), getAsyncExecutor()).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    Logger logger = plugin != null ? plugin.getLogger() : Bukkit.getLogger();
+                    logger.log(Level.SEVERE, "Unhandled exception executing command '" + label + "'", ex);
                 }
-            }
-
-            if (args.length < required) {
-                getUsageMessage(sender, args).ifPresent(msg -> sender.sendMessage(msg.replaceText(b -> b.matchLiteral("{usage}").replacement("/" + s + " " + usage))));
-                return true;
-            }
+            });
         }
 
-        // Fire command handler, ignore thrown exceptions
+        invoke(ctx);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Fire command handler, ignore assertion failures, including ones thrown by a main thread hop that was joined.
+     */
+    private void invoke(CommandContext<CommandSender> ctx) {
+        long start = metrics.start();
+        boolean executed = true;
         try {
-            handler(new PaperCommandContext<>(sender, this, args));
+            startCooldown(ctx);
+            executed = dispatch(ctx);
         } catch (CommandAssertionException ex) {
+            metrics.recordAssertionFailure();
             onAssertionFailure(ex);
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof CommandAssertionException assertion) {
+                metrics.recordAssertionFailure();
+                onAssertionFailure(assertion);
+            } else {
+                metrics.recordError();
+                throw ex;
+            }
+        } catch (RuntimeException | Error ex) {
+            metrics.recordError();
+            throw ex;
+        } finally {
+            if (executed) {
+                metrics.recordExecution(start);
+            }
         }
+    }
+
+    /**
+     * Run the handler of validated input, called by {@link #execute(CommandSender, String, String[])}.
+     * Commands that check the input further in their handler, such as {@link tsp.papercommands.command.tree.TreeCommand}, override this
+     * to report rejected input, which is then recorded like a usage or permission failure instead of an execution.
+     *
+     * @param ctx The {@link CommandContext}
+     * @return Whether the handler ran, false if it rejected the input
+     */
+    protected boolean dispatch(CommandContext<CommandSender> ctx) {
+        handler(ctx);
         return true;
     }
 
+    /**
+     * Compute completions through {@link #tabHandler(CommandContext)} or {@link #asyncTabHandler(CommandContext)}, recording their latency.
+     *
+     * @param sender The sender
+     * @param args The raw arguments
+     * @param async Whether this is called off the main thread
+     * @return The completions, or null to fall back to player names
+     */
+    @Nullable
+    public List<String> complete(@NotNull CommandSender sender, String @NotNull [] args, boolean async) {
+        long start = metrics.start();
+        try {
+            PaperCommandContext<CommandSender> ctx = new PaperCommandContext<>(sender, this, args);
+            return async ? asyncTabHandler(ctx) : tabHandler(ctx);
+        } finally {
+            metrics.recordCompletion(start);
+        }
+    }
+
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, org.bukkit.command.@NotNull Command command, @NotNull String label, @NotNull String @NotNull [] args) {
-        return tabHandler(new PaperCommandContext<>(sender, this, args));
+        return complete(sender, args, false);
     }
 
     public void onAssertionFailure(CommandAssertionException ex) {}
 
+    /**
+     * Bind this command to its owning plugin without registering it, used by registration paths other than plugin.yml.
+     *
+     * @param plugin The owning plugin
+     */
+    public void attach(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+        IndexReloadListener.install(plugin);
+        PlayerIndex.install(plugin);
+    }
+
     @Override
     public PluginCommand register(JavaPlugin plugin) {
         PluginCommand command = plugin.getCommand(name);
         if (command == null) {
             throw new NullPointerException("Missing command: " + name);
         }
+        attach(plugin);
         command.setExecutor(this);
         command.setTabCompleter(this);
+
+        if (isAsyncTabComplete()) {
+            AsyncTabCompleter.of(plugin).add(this, labels(plugin, command.getName(), command.getAliases()));
+        }
         return command;
     }
 
+    /**
+     * The labels a command can be registered under: its lower-cased name and aliases, with and without the plugin prefix.
+     *
+     * @param plugin The owning plugin
+     * @param name The command name
+     * @param aliases The command aliases
+     * @return The labels
+     */
+    static List<String> labels(Plugin plugin, String name, Collection<String> aliases) {
+        String prefix = plugin.getName().toLowerCase(Locale.ROOT) + ":";
+        List<String> labels = new ArrayList<>(aliases.size() * 2 + 2);
+        labels.add(name.toLowerCase(Locale.ROOT));
+        for (String alias : aliases) {
+            labels.add(alias.toLowerCase(Locale.ROOT));
+        }
+        for (int i = 0, size = labels.size(); i < size; i++) {
+            labels.add(prefix + labels.get(i));
+        }
+        return labels;
+    }
+
 }
\ No newline at end of file
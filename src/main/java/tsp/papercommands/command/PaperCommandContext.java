@@ -1,17 +1,29 @@
 package tsp.papercommands.command;
 
 import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import tsp.papercommands.argument.Argument;
 import tsp.papercommands.argument.ArgumentImpl;
+import tsp.papercommands.argument.ArgumentResult;
+import tsp.papercommands.argument.ArgumentTokens;
+import tsp.papercommands.argument.parser.ArgumentParser;
 import tsp.papercommands.argument.parser.ArgumentParsers;
+import tsp.papercommands.argument.parser.NumbersParser;
+import tsp.papercommands.argument.parser.OfflinePlayerResolver;
+import tsp.papercommands.message.MessageTemplate;
 
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 /**
@@ -19,34 +31,215 @@ import java.util.function.UnaryOperator;
  *
  * @author TheSilentPro (Silent)
  */
+@SuppressWarnings("unchecked")
 public class PaperCommandContext<T extends CommandSender> implements CommandContext<T> {
 
     private final T sender;
-    private final List<String> arguments;
-    private final Set<String> options;
+    private final ArgumentTokens arguments;
     private final Command command;
+    private final CommandOptions declared;
+    private CommandSignature signature;
+    private Object[] values;
 
+    // Options: presence of declared options as a bitset, names and values are only allocated when options are passed
+    private long present;
+    private Set<String> options;
+    private Map<String, String> optionValues;
+
+    // Per-invocation memo tables, filled lazily
+    private Argument[] argumentCache;
+    private Map<Class<?>, ArgumentResult<?>>[] parseCache;
+
+    /**
+     * Create a context with already extracted options.
+     *
+     * @param sender The sender
+     * @param command The command
+     * @param args The arguments, without options
+     * @param options The options
+     */
     public PaperCommandContext(T sender, Command command, String[] args, Set<String> options) {
         this.sender = sender;
-        this.arguments = new ArrayList<>(Arrays.asList(args)); // Mutable
-        this.options = options;
+        this.arguments = ArgumentTokens.of(args);
         this.command = command;
+        this.declared = declaredOptions(command);
+        this.options = options;
+        if (options != null) {
+            for (String name : options) {
+                CommandOption option = this.declared.get(name);
+                if (option != null) {
+                    this.present |= 1L << option.index();
+                }
+            }
+        }
     }
 
+    /**
+     * Create a context from the arguments split by the server, extracting options.
+     * The arguments are joined back into the original line and {@link ArgumentTokens#split(String...) tokenized} with quotes.
+     *
+     * @param sender The sender
+     * @param command The command
+     * @param args The raw arguments
+     * @see #PaperCommandContext(CommandSender, Command, ArgumentTokens)
+     */
     public PaperCommandContext(T sender, Command command, String[] args) {
+        this(sender, command, ArgumentTokens.split(args));
+    }
+
+    /**
+     * Create a context, extracting options from the tokens in a single pass.
+     * <p>
+     * With the default {@link #optionPrefix() prefix} the following forms are recognized:
+     * <ul>
+     *     <li>{@code --name} and {@code --name=value} for long names</li>
+     *     <li>{@code -n}, {@code -abc} for several short flags, {@code -r 10} and {@code -r10} for short valued options</li>
+     *     <li>{@code -name} and {@code -name=value} for options that are not declared</li>
+     *     <li>{@code --} ends the options, every following token is an argument</li>
+     * </ul>
+     * Valued {@link CommandOptions declared} options without {@code =} take the next token as their value.
+     * Quoted tokens and tokens such as {@code -5} or {@code -.5} are arguments, not options.
+     *
+     * @param sender The sender
+     * @param command The command
+     * @param tokens The tokenized arguments
+     */
+    public PaperCommandContext(T sender, Command command, @NotNull ArgumentTokens tokens) {
         this.sender = sender;
-        this.arguments = new ArrayList<>(Arrays.asList(args)); // Mutable
-        this.options = new HashSet<>();
         this.command = command;
+        this.declared = declaredOptions(command);
+
+        String prefix = optionPrefix();
+        // Short names and combined flags only make sense for a single character prefix, e.g. -abc and --name.
+        String longPrefix = prefix.length() == 1 ? prefix + prefix : prefix;
+        int[] kept = new int[tokens.size()];
+        int size = 0;
+        boolean terminated = false;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (terminated || tokens.isQuoted(i) || !tokens.startsWith(i, prefix) || tokens.length(i) == prefix.length()) {
+                kept[size++] = i;
+                continue;
+            }
+
+            String arg = tokens.get(i);
+            if (arg.equals("--")) {
+                terminated = true;
+            } else if (arg.startsWith(longPrefix)) {
+                i = named(tokens, i, longPrefix.length());
+            } else if (isNumeric(arg, prefix.length())) {
+                kept[size++] = i;
+            } else {
+                int last = shortOptions(tokens, i, prefix.length());
+                i = last != -1 ? last : named(tokens, i, prefix.length());
+            }
+        }
+        this.arguments = tokens.select(kept, size);
+    }
+
+    /**
+     * Create a view of another context starting at an argument, sharing its options.
+     */
+    private PaperCommandContext(PaperCommandContext<T> parent, int from) {
+        this.sender = parent.sender;
+        this.command = parent.command;
+        this.declared = parent.declared;
+        this.arguments = parent.arguments.slice(from);
+        this.present = parent.present;
+        this.options = parent.options;
+        this.optionValues = parent.optionValues;
+    }
 
-        // Loop raw arguments to match options and remove them from the arguments list.
-        for (Iterator<String> iterator = arguments.iterator(); iterator.hasNext();) {
-            String arg = iterator.next();
-            if (arg.startsWith(optionPrefix())) {
-                this.options.add(arg.substring(optionPrefix().length()));
-                iterator.remove();
+    /**
+     * Create a context over the arguments from an index onwards, with the same sender, command and options.
+     * Used to hand the remaining arguments to subcommands.
+     *
+     * @param from The index of the first argument
+     * @return The context
+     */
+    @NotNull
+    public PaperCommandContext<T> slice(int from) {
+        return new PaperCommandContext<>(this, from);
+    }
+
+    /**
+     * Handle a named option, e.g. {@code --radius=10} or {@code --silent}.
+     *
+     * @return The index of the last consumed token
+     */
+    private int named(ArgumentTokens args, int index, int offset) {
+        String arg = args.get(index);
+        int equals = arg.indexOf('=', offset);
+        String name = equals == -1 ? arg.substring(offset) : arg.substring(offset, equals);
+        String value = equals == -1 ? null : arg.substring(equals + 1);
+
+        CommandOption option = this.declared.get(name);
+        if (option != null && option.isValued() && value == null && index + 1 < args.size()) {
+            value = args.get(++index);
+        }
+        addOption(option, option != null ? option.name() : name, value);
+        return index;
+    }
+
+    /**
+     * Handle short options, e.g. {@code -abc}, {@code -r10} or {@code -r 10}.
+     * Only applies when the first character is a declared short name and, for flags, every character is.
+     *
+     * @return The index of the last consumed token, or -1 if the token is not short options
+     */
+    private int shortOptions(ArgumentTokens args, int index, int offset) {
+        String arg = args.get(index);
+        CommandOption first = this.declared.get(arg.charAt(offset));
+        if (first == null || this.declared.get(arg.substring(offset)) != null) {
+            return -1; // Undeclared, or a declared long name such as -silent
+        }
+
+        if (first.isValued()) {
+            if (arg.length() > offset + 1) {
+                addOption(first, first.name(), arg.substring(offset + 1));
+                return index;
             }
+            boolean next = index + 1 < args.size();
+            addOption(first, first.name(), next ? args.get(index + 1) : null);
+            return next ? index + 1 : index;
         }
+
+        for (int i = offset + 1; i < arg.length(); i++) {
+            CommandOption option = this.declared.get(arg.charAt(i));
+            if (option == null || option.isValued()) {
+                return -1;
+            }
+        }
+        for (int i = offset; i < arg.length(); i++) {
+            CommandOption option = this.declared.get(arg.charAt(i));
+            addOption(option, option.name(), null);
+        }
+        return index;
+    }
+
+    private void addOption(@Nullable CommandOption option, String name, @Nullable String value) {
+        if (option != null) {
+            this.present |= 1L << option.index();
+        }
+        if (this.options == null) {
+            this.options = new HashSet<>(4);
+        }
+        this.options.add(name);
+        if (value != null) {
+            if (this.optionValues == null) {
+                this.optionValues = new HashMap<>(4);
+            }
+            this.optionValues.put(name.toLowerCase(Locale.ROOT), value);
+        }
+    }
+
+    private static boolean isNumeric(String arg, int offset) {
+        char c = arg.charAt(offset);
+        return (c >= '0' && c <= '9') || (c == '.' && arg.length() > offset + 1 && Character.isDigit(arg.charAt(offset + 1)));
+    }
+
+    private static CommandOptions declaredOptions(@Nullable Command command) {
+        CommandOptions options = command != null ? command.getOptions() : null;
+        return options != null ? options : CommandOptions.NONE;
     }
 
     @Override
@@ -61,15 +254,74 @@ public class PaperCommandContext<T extends CommandSender> implements CommandCont
 
     @Override
     public Set<String> options() {
-        return Collections.unmodifiableSet(this.options);
+        return this.options != null ? Collections.unmodifiableSet(this.options) : Set.of();
+    }
+
+    @Override
+    public boolean hasOption(@NotNull String name) {
+        CommandOption option = this.declared.get(name);
+        if (option != null) {
+            return (this.present & (1L << option.index())) != 0;
+        }
+        return this.options != null && this.options.contains(name);
+    }
+
+    @Override
+    public Optional<String> optionValue(@NotNull String name) {
+        return this.optionValues != null ? Optional.ofNullable(this.optionValues.get(name.toLowerCase(Locale.ROOT))) : Optional.empty();
+    }
+
+    @Override
+    public <U> Optional<U> option(@NotNull String name, @NotNull Class<U> type) {
+        Optional<String> value = optionValue(name);
+        return value.isPresent() ? parser(type).parse(value.get()) : Optional.empty();
+    }
+
+    @Override
+    public <U> Optional<U> option(@NotNull String name) {
+        CommandOption option = this.declared.get(name);
+        if (option == null || !option.isValued()) {
+            throw new NoSuchElementException("Unknown valued option: " + name);
+        }
+        return (Optional<U>) option(name, option.type());
     }
 
     @Override
     public CommandContext<T> reply(Component message) {
-        this.sender.sendMessage(message);
+        // Unregistered commands have no main thread to hop to, send directly.
+        if (this.command == null || this.command.getPlugin().isEmpty() || Bukkit.isPrimaryThread()) {
+            this.sender.sendMessage(message);
+        } else {
+            mainThreadExecutor().execute(() -> this.sender.sendMessage(message));
+        }
         return this;
     }
 
+    @Override
+    public CompletableFuture<Void> runSync(@NotNull Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(task, mainThreadExecutor());
+    }
+
+    @Override
+    public <R> CompletableFuture<R> callSync(@NotNull Supplier<R> task) {
+        if (Bukkit.isPrimaryThread()) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        return CompletableFuture.supplyAsync(task, mainThreadExecutor());
+    }
+
+    private Executor mainThreadExecutor() {
+        Plugin plugin = this.command != null ? this.command.getPlugin().orElse(null) : null;
+        if (plugin == null) {
+            throw new IllegalStateException("Command is not registered to a plugin!");
+        }
+        return Bukkit.getScheduler().getMainThreadExecutor(plugin);
+    }
+
     @Override
     public List<String> rawArgs() {
         return Collections.unmodifiableList(this.arguments);
@@ -83,14 +335,74 @@ public class PaperCommandContext<T extends CommandSender> implements CommandCont
         return Optional.ofNullable(this.arguments.get(index));
     }
 
+    @Override
+    public Optional<CharSequence> argView(int index) {
+        if (index < 0 || index >= this.arguments.size()) {
+            return Optional.empty();
+        }
+        return Optional.of(this.arguments.view(index));
+    }
+
+    @Override
+    public CharSequence greedy(int from) {
+        return this.arguments.greedy(from);
+    }
+
     @Override
     public Argument arg(int index) {
-        return new ArgumentImpl(index, rawArg(index).orElse(null));
+        if (index < 0 || index >= this.arguments.size()) {
+            return new ArgumentImpl(index, null);
+        }
+
+        if (this.argumentCache == null) {
+            this.argumentCache = new Argument[this.arguments.size()];
+        }
+        Argument argument = this.argumentCache[index];
+        if (argument == null) {
+            argument = new ArgumentImpl(index, this.arguments.get(index));
+            this.argumentCache[index] = argument;
+        }
+        return argument;
     }
 
     @Override
     public Optional<Argument> argOpt(int index) {
-        return rawArg(index).map(arg -> new ArgumentImpl(index, arg));
+        if (index < 0 || index >= this.arguments.size() || this.arguments.get(index) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(arg(index));
+    }
+
+    @Override
+    public OptionalInt intArg(int index) {
+        if (index < 0 || index >= this.arguments.size()) {
+            return OptionalInt.empty();
+        }
+        return NumbersParser.parseIntValue(this.arguments.get(index));
+    }
+
+    @Override
+    public OptionalLong longArg(int index) {
+        if (index < 0 || index >= this.arguments.size()) {
+            return OptionalLong.empty();
+        }
+        return NumbersParser.parseLongValue(this.arguments.get(index));
+    }
+
+    @Override
+    public OptionalDouble doubleArg(int index) {
+        if (index < 0 || index >= this.arguments.size()) {
+            return OptionalDouble.empty();
+        }
+        return NumbersParser.parseDoubleValue(this.arguments.get(index));
+    }
+
+    @Override
+    public CompletableFuture<Optional<OfflinePlayer>> offlinePlayerArg(int index) {
+        if (index < 0 || index >= this.arguments.size()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return OfflinePlayerResolver.get().resolve(this.arguments.get(index));
     }
 
     @Override
@@ -102,6 +414,42 @@ public class PaperCommandContext<T extends CommandSender> implements CommandCont
         return args;
     }
 
+    /**
+     * Bind the arguments of this context to a signature, parsing every slot in one pass.
+     *
+     * @param signature The signature
+     * @return Whether the arguments matched the signature
+     */
+    public boolean bind(@NotNull CommandSignature signature) {
+        Object[] values = signature.bind(this.arguments);
+        if (values == null) {
+            return false;
+        }
+        this.signature = signature;
+        this.values = values;
+        return true;
+    }
+
+    @Override
+    public <U> U value(int slot) {
+        if (this.values == null) {
+            throw new IllegalStateException("Context is not bound to a signature!");
+        }
+        return (U) this.values[slot];
+    }
+
+    @Override
+    public <U> U value(@NotNull String name) {
+        if (this.signature == null) {
+            throw new IllegalStateException("Context is not bound to a signature!");
+        }
+        int slot = this.signature.indexOf(name);
+        if (slot == -1) {
+            throw new NoSuchElementException("Unknown slot: " + name);
+        }
+        return value(slot);
+    }
+
     @Override
     public String optionPrefix() {
         return "-";
@@ -133,15 +481,56 @@ public class PaperCommandContext<T extends CommandSender> implements CommandCont
         return sender instanceof ConsoleCommandSender;
     }
 
+    /**
+     * Parse an argument, memoizing the result (including failures) per index and type,
+     * so every parser runs at most once per argument for this invocation.
+     *
+     * @param index The position of the argument
+     * @param type The type to parse
+     * @return The result
+     * @param <U> The type
+     */
+    private <U> ArgumentResult<U> parse(int index, @NotNull Class<U> type) {
+        if (index < 0 || index >= this.arguments.size()) {
+            return ArgumentResult.of(index, null, parser(type).parse(""));
+        }
+
+        if (this.parseCache == null) {
+            this.parseCache = new Map[this.arguments.size()];
+        }
+        Map<Class<?>, ArgumentResult<?>> results = this.parseCache[index];
+        if (results == null) {
+            results = new HashMap<>(4);
+            this.parseCache[index] = results;
+        }
+
+        ArgumentResult<?> result = results.get(type);
+        if (result == null) {
+            String raw = this.arguments.get(index);
+            result = ArgumentResult.of(index, raw, parser(type).parse(raw));
+            results.put(type, result);
+        }
+        return (ArgumentResult<U>) result;
+    }
+
+    private static <U> ArgumentParser<U> parser(@NotNull Class<U> type) {
+        return ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new NoSuchElementException("Unable to find ArgumentParser for " + type));
+    }
+
     @Override
     public boolean isArgument(int index, @NotNull Class<?> type) {
-        return ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new NoSuchElementException("Unable to find ArgumentParser for " + type)).parse(rawArg(index).orElse("")).isPresent();
+        return parse(index, type).isSuccess();
+    }
+
+    @Override
+    public <U> ArgumentResult<U> checkArgument(int index, @NotNull Class<U> type) {
+        return parse(index, type);
     }
 
     @Override
     public <U> U validateArgument(int index, @NotNull Class<U> type, @Nullable Component failureMessage) {
-        Optional<U> result = ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new NoSuchElementException("Unable to find ArgumentParser for " + type)).parse(rawArg(index).orElse(""));
-        if (result.isPresent()) {
+        ArgumentResult<U> result = parse(index, type);
+        if (result.isSuccess()) {
             return result.get();
         } else {
             if (failureMessage != null) reply(failureMessage);
@@ -151,8 +540,8 @@ public class PaperCommandContext<T extends CommandSender> implements CommandCont
 
     @Override
     public <U> U validateArgument(int index, Class<U> type, UnaryOperator<Component> failureMessage) {
-        Optional<U> result = ArgumentParsers.INSTANCE.find(type).orElseThrow(() -> new NoSuchElementException("Unable to find ArgumentParser for " + type)).parse(rawArg(index).orElse(""));
-        if (result.isPresent()) {
+        ArgumentResult<U> result = parse(index, type);
+        if (result.isSuccess()) {
             return result.get();
         } else {
             if (failureMessage != null) {
@@ -168,4 +557,21 @@ public class PaperCommandContext<T extends CommandSender> implements CommandCont
         }
     }
 
+    @Override
+    public <U> U validateArgument(int index, @NotNull Class<U> type, @NotNull MessageTemplate failureMessage) {
+        ArgumentResult<U> result = parse(index, type);
+        if (result.isSuccess()) {
+            return result.get();
+        }
+
+        String raw = result.raw().orElse("");
+        Component message = failureMessage.render(slot -> switch (slot) {
+            case "arg" -> raw;
+            case "index" -> index;
+            default -> null;
+        });
+        reply(message);
+        throw new CommandAssertionException(message);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+package tsp.papercommands.command.brigadier;
+
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.papercommands.argument.parser.EntitySelector;
+import tsp.papercommands.command.CommandSignature;
+import tsp.papercommands.command.PaperCommand;
+import tsp.papercommands.command.tree.CommandNode;
+import tsp.papercommands.command.tree.TreeCommand;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Exports {@link PaperCommand commands} as native Brigadier trees through Paper's {@link LifecycleEvents#COMMANDS} registrar,
+ * so that the client validates and suggests arguments locally.
+ * <p>
+ * {@link CommandSignature} slots become argument nodes. A slot only gets its own node if the client grammar accepts everything its
+ * {@link tsp.papercommands.argument.parser.ArgumentParser parser} accepts: players, integers, decimals, booleans and UUIDs
+ * are sent as words. From the first other slot on, such as worlds, namespaced keys, entity selectors,
+ * components or plain strings, the rest of the input is a single node completed slot by slot through the parsers, see {@link #exportedSlots(CommandSignature)}.
+ * {@link TreeCommand Subcommands} become literal nodes guarded by their permission. Commands without a signature accept free-form
+ * arguments completed by their {@link PaperCommand#tabHandler tab handler}.
+ * <p>
+ * Brigadier only routes and validates, execution re-dispatches the raw input through {@link PaperCommand#execute},
+ * so permission checks, usage messages, parsing and {@link tsp.papercommands.command.ExecutionMode execution modes} behave
+ * exactly like plugin.yml commands.
+ *
+ * @author TheSilentPro (Silent)
+ */
+@SuppressWarnings("UnstableApiUsage")
+public final class BrigadierExporter {
+
+    /**
+     * Types whose parsers only accept the characters of a Brigadier word, {@code [0-9A-Za-z_.+-]}.
+     */
+    private static final Set<Class<?>> WORD_TYPES = Set.of(
+            Integer.class, int.class, Long.class, long.class, Double.class, double.class, Float.class,
+            Byte.class, Boolean.class, UUID.class, Player.class
+    );
+
+    private BrigadierExporter() {}
+
+    /**
+     * Register commands through Brigadier, call from {@link JavaPlugin#onEnable()}. The commands must not be declared in plugin.yml.
+     *
+     * @param plugin The owning plugin
+     * @param commands The commands
+     */
+    public static void register(@NotNull JavaPlugin plugin, @NotNull Collection<? extends PaperCommand> commands) {
+        List<PaperCommand> snapshot = List.copyOf(commands);
+        for (PaperCommand command : snapshot) {
+            command.attach(plugin);
+        }
+
+        plugin.getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS, event -> {
+            Commands registrar = event.registrar();
+            for (PaperCommand command : snapshot) {
+                registrar.register(build(command), command.getDescription().orElse(null), command.getAliases());
+            }
+        });
+    }
+
+    /**
+     * Build the Brigadier tree of a command.
+     *
+     * @param command The command
+     * @return The root literal node
+     */
+    @NotNull
+    public static LiteralCommandNode<CommandSourceStack> build(@NotNull PaperCommand command) {
+        LiteralArgumentBuilder<CommandSourceStack> literal = Commands.literal(command.getName());
+        command.getPermission().ifPresent(permission -> literal.requires(source -> source.getSender().hasPermission(permission)));
+
+        com.mojang.brigadier.Command<CommandSourceStack> executor = ctx -> {
+            dispatch(command, ctx.getInput(), ctx.getSource());
+            return com.mojang.brigadier.Command.SINGLE_SUCCESS;
+        };
+        if (command instanceof TreeCommand tree) {
+            addNode(literal, tree.getRoot(), command, executor);
+        } else {
+            addArguments(literal, command.getSignature().orElse(null), true, command, executor);
+        }
+        return literal.build();
+    }
+
+    private static void addNode(ArgumentBuilder<CommandSourceStack, ?> builder, CommandNode node, PaperCommand command, com.mojang.brigadier.Command<CommandSourceStack> executor) {
+        for (CommandNode child : node.getChildren()) {
+            for (String name : names(child)) {
+                LiteralArgumentBuilder<CommandSourceStack> literal = Commands.literal(name);
+                child.getPermission().ifPresent(permission -> literal.requires(source -> source.getSender().hasPermission(permission)));
+                addNode(literal, child, command, executor);
+                builder.then(literal);
+            }
+        }
+
+        // Nodes with children and no handler only accept their subcommands.
+        boolean freeForm = node.getHandler().isPresent() || node.getChildren().isEmpty();
+        addArguments(builder, node.getSignature().orElse(null), freeForm, command, executor);
+    }
+
+    /**
+     * Append the argument nodes of a signature. Every node executes so that incomplete input gets the command's usage message.
+     */
+    private static void addArguments(ArgumentBuilder<CommandSourceStack, ?> builder, @Nullable CommandSignature signature, boolean freeForm, PaperCommand command, com.mojang.brigadier.Command<CommandSourceStack> executor) {
+        builder.executes(executor);
+        if (signature == null) {
+            if (freeForm) {
+                builder.then(Commands.argument("args", StringArgumentType.greedyString()).suggests(tabHandler(command)).executes(executor));
+            }
+            return;
+        }
+
+        // Slots the client cannot validate share one node taking the rest of the input.
+        int exported = exportedSlots(signature);
+        ArgumentBuilder<CommandSourceStack, ?> next = null;
+        if (exported < signature.size()) {
+            next = Commands.argument(signature.slot(exported).name(), StringArgumentType.greedyString())
+                    .suggests(remaining(signature, exported))
+                    .executes(executor);
+        }
+        for (int i = exported - 1; i >= 0; i--) {
+            CommandSignature.Slot slot = signature.slot(i);
+            RequiredArgumentBuilder<CommandSourceStack, ?> argument = Commands.argument(slot.name(), argumentType(slot));
+            if (argument.getType() instanceof StringArgumentType) {
+                argument.suggests(parser(slot));
+            }
+            argument.executes(executor);
+            if (next != null) {
+                argument.then(next);
+            }
+            next = argument;
+        }
+        if (next != null) {
+            builder.then(next);
+        }
+    }
+
+    /**
+     * The number of leading slots of a signature exported as their own argument nodes,
+     * the remaining slots are exported together as the rest of the input.
+     *
+     * @param signature The signature
+     * @return The number of slots with their own node
+     */
+    public static int exportedSlots(@NotNull CommandSignature signature) {
+        for (int i = 0; i < signature.size(); i++) {
+            if (!hasNativeType(signature.slot(i))) {
+                return i;
+            }
+        }
+        return signature.size();
+    }
+
+    /**
+     * The Brigadier type of a slot exported as its own node.
+     *
+     * @param slot The slot
+     * @return The argument type, or null if the client grammar would reject input the slot's parser accepts
+     */
+    @Nullable
+    public static ArgumentType<?> argumentType(@NotNull CommandSignature.Slot slot) {
+        return hasNativeType(slot) ? StringArgumentType.word() : null;
+    }
+
+    /**
+     * Whether the client grammar of a slot's type accepts everything its parser accepts.
+     * Vanilla number types reject forms such as {@code +5} or {@code 1e3}, and the vanilla UUID and player arguments the undashed form,
+     * so those are words.
+     * The vanilla entities argument accepts selector options {@link EntitySelector} does not support and requires a permission to use selectors,
+     * so selectors take the rest of the input.
+     */
+    private static boolean hasNativeType(CommandSignature.Slot slot) {
+        Class<?> type = slot.type();
+        return !slot.greedy() && WORD_TYPES.contains(type);
+    }
+
+    private static SuggestionProvider<CommandSourceStack> parser(CommandSignature.Slot slot) {
+        return (ctx, builder) -> {
+            for (String suggestion : slot.parser().suggest(builder.getRemaining())) {
+                builder.suggest(suggestion);
+            }
+            return builder.buildFuture();
+        };
+    }
+
+    /**
+     * Suggestions for the slots sharing the rest of the input, completing the last word through the slot it belongs to.
+     */
+    private static SuggestionProvider<CommandSourceStack> remaining(CommandSignature signature, int from) {
+        return (ctx, builder) -> {
+            String remaining = builder.getRemaining();
+            int word = remaining.lastIndexOf(' ') + 1;
+            int position = from;
+            for (int i = 0; i < word; i++) {
+                if (remaining.charAt(i) == ' ') {
+                    position++;
+                }
+            }
+
+            SuggestionsBuilder offset = builder.createOffset(builder.getStart() + word);
+            List<String> suggestions = signature.suggest(position, remaining.substring(word));
+            if (suggestions != null) {
+                for (String suggestion : suggestions) {
+                    offset.suggest(suggestion);
+                }
+            }
+            return offset.buildFuture();
+        };
+    }
+
+    /**
+     * Suggestions for free-form arguments, completing the last word through the command's tab handler.
+     */
+    private static SuggestionProvider<CommandSourceStack> tabHandler(PaperCommand command) {
+        return (ctx, builder) -> {
+            String input = builder.getInput();
+            int start = input.indexOf(' ') + 1;
+            int word = input.lastIndexOf(' ') + 1;
+            String[] args = input.substring(start).split(" ", -1);
+
+            List<String> suggestions = command.complete(ctx.getSource().getSender(), args, false);
+            SuggestionsBuilder offset = builder.createOffset(word);
+            if (suggestions != null) {
+                String last = input.substring(word);
+                for (String suggestion : suggestions) {
+                    if (suggestion.regionMatches(true, 0, last, 0, last.length())) {
+                        offset.suggest(suggestion);
+                    }
+                }
+            }
+            return offset.buildFuture();
+        };
+    }
+
+    private static void dispatch(PaperCommand command, String input, CommandSourceStack source) {
+        int start = input.startsWith("/") ? 1 : 0;
+        int space = input.indexOf(' ', start);
+        String label = space == -1 ? input.substring(start) : input.substring(start, space);
+        // Same splitting as the command map.
+        String[] args = space == -1 ? new String[0] : input.substring(space + 1).split(" ");
+        command.execute(source.getSender(), label, args);
+    }
+
+    private static List<String> names(CommandNode node) {
+        if (node.getAliases().isEmpty()) {
+            return List.of(node.getName());
+        }
+        List<String> names = new ArrayList<>(node.getAliases().size() + 1);
+        names.add(node.getName());
+        names.addAll(node.getAliases());
+        return names;
+    }
+
+}
@@ -0,0 +1,241 @@
+package tsp.papercommands.command.tree;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.papercommands.command.CommandContext;
+import tsp.papercommands.command.CommandSignature;
+import tsp.papercommands.cooldown.Cooldown;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A literal subcommand of a {@link TreeCommand}, with its own permission, usage and handler.
+ * Children are stored in a case-insensitive {@link RadixTree} under their names and aliases.
+ * <p>
+ * Build the tree before {@link TreeCommand#register(org.bukkit.plugin.java.JavaPlugin) registering} the command,
+ * nodes are not safe to modify while commands are being dispatched.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class CommandNode {
+
+    private final String name;
+    private final List<String> aliases;
+    private final RadixTree<CommandNode> children = new RadixTree<>();
+    @Nullable
+    private CommandNode parent;
+    @Nullable
+    private String permission;
+    @Nullable
+    private CommandSignature signature;
+    @Nullable
+    private Consumer<CommandContext<CommandSender>> handler;
+    @Nullable
+    private Cooldown cooldown;
+
+    private CommandNode(String name, List<String> aliases) {
+        this.name = name;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Create a literal node.
+     *
+     * @param name The name
+     * @param aliases The aliases
+     * @return The node
+     */
+    @NotNull
+    public static CommandNode literal(@NotNull String name, @NotNull String... aliases) {
+        return new CommandNode(name, List.of(aliases));
+    }
+
+    /**
+     * Require a permission for this node and its children.
+     *
+     * @param permission The permission
+     * @return This node
+     */
+    @NotNull
+    public CommandNode permission(@Nullable String permission) {
+        this.permission = permission;
+        return this;
+    }
+
+    /**
+     * Set the usage of the arguments following this node, compiled to a {@link CommandSignature}.
+     *
+     * @param usage The usage, e.g. {@code <player:player> <amount:int>}
+     * @return This node
+     * @throws IllegalArgumentException If the usage contains an unknown type
+     */
+    @NotNull
+    public CommandNode usage(@Nullable String usage) {
+        this.signature = usage != null ? CommandSignature.compile(usage) : null;
+        return this;
+    }
+
+    /**
+     * Set the handler, called with the arguments following this node.
+     *
+     * @param handler The handler
+     * @return This node
+     */
+    @NotNull
+    public CommandNode executes(@Nullable Consumer<CommandContext<CommandSender>> handler) {
+        this.handler = handler;
+        return this;
+    }
+
+    /**
+     * Set the cooldown, started when this node's handler runs. Applies in addition to the command's cooldown.
+     *
+     * @param cooldown The cooldown
+     * @return This node
+     */
+    @NotNull
+    public CommandNode cooldown(@Nullable Cooldown cooldown) {
+        this.cooldown = cooldown;
+        return this;
+    }
+
+    /**
+     * Add a child.
+     *
+     * @param child The child
+     * @return This node
+     * @throws IllegalArgumentException If the child already has a parent, or one of its names is taken
+     */
+    @NotNull
+    public CommandNode then(@NotNull CommandNode child) {
+        if (child.parent != null) {
+            throw new IllegalArgumentException("Node already has a parent: " + child.name);
+        }
+        for (String alias : child.names()) {
+            if (children.get(alias) != null) {
+                throw new IllegalArgumentException("Duplicate subcommand: " + alias);
+            }
+        }
+
+        child.parent = this;
+        for (String alias : child.names()) {
+            children.put(alias, child);
+        }
+        return this;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    @NotNull
+    public Optional<String> getPermission() {
+        return Optional.ofNullable(permission);
+    }
+
+    @NotNull
+    public Optional<String> getUsage() {
+        return Optional.ofNullable(signature).map(CommandSignature::usage);
+    }
+
+    @NotNull
+    public Optional<CommandSignature> getSignature() {
+        return Optional.ofNullable(signature);
+    }
+
+    @NotNull
+    public Optional<Consumer<CommandContext<CommandSender>>> getHandler() {
+        return Optional.ofNullable(handler);
+    }
+
+    @NotNull
+    public Optional<Cooldown> getCooldown() {
+        return Optional.ofNullable(cooldown);
+    }
+
+    /**
+     * Get a child by name or alias, ignoring case.
+     *
+     * @param name The name
+     * @return The child, or null if not found
+     */
+    @Nullable
+    public CommandNode getChild(@NotNull CharSequence name) {
+        return children.get(name);
+    }
+
+    /**
+     * The children, without duplicates for aliases.
+     *
+     * @return The children
+     */
+    @NotNull
+    public Collection<CommandNode> getChildren() {
+        return new LinkedHashSet<>(children.values());
+    }
+
+    /**
+     * The names of the children starting with a prefix that a sender may use.
+     *
+     * @param sender The sender
+     * @param prefix The prefix
+     * @return The sorted names, including aliases
+     */
+    @NotNull
+    public List<String> complete(@NotNull CommandSender sender, @NotNull String prefix) {
+        List<String> names = children.complete(prefix, Integer.MAX_VALUE);
+        List<String> allowed = new ArrayList<>(names.size());
+        for (String name : names) {
+            CommandNode child = children.get(name);
+            if (child != null && child.canUse(sender)) {
+                allowed.add(name);
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Whether a sender has the permission of this node.
+     *
+     * @param sender The sender
+     * @return Whether the sender may use this node
+     */
+    public boolean canUse(@NotNull CommandSender sender) {
+        return permission == null || sender.hasPermission(permission);
+    }
+
+    /**
+     * The literals leading to this node from the root, separated by spaces, empty for the root.
+     *
+     * @return The path
+     */
+    @NotNull
+    public String path() {
+        if (parent == null) {
+            return "";
+        }
+        String path = parent.path();
+        return path.isEmpty() ? name : path + " " + name;
+    }
+
+    private List<String> names() {
+        List<String> names = new ArrayList<>(aliases.size() + 1);
+        names.add(name);
+        names.addAll(aliases);
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
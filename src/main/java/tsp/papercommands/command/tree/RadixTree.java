@@ -0,0 +1,231 @@
+package tsp.papercommands.command.tree;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A case-insensitive radix tree from names to values.
+ * Edges hold lower-cased runs of characters shared by their keys, children are kept sorted by their first character.
+ * A lookup costs one binary search per edge and never copies or case-converts the input.
+ * <p>
+ * Not thread-safe for writes, build the tree before publishing it. Reads are safe once published.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class RadixTree<V> {
+
+    private final Node<V> root = new Node<>("");
+    private int size;
+
+    /**
+     * Associate a key with a value.
+     *
+     * @param key The key, case-insensitive
+     * @param value The value
+     * @return The previous value, or null
+     */
+    @Nullable
+    public V put(@NotNull String key, @NotNull V value) {
+        String lower = key.toLowerCase(Locale.ROOT);
+        Node<V> node = root;
+        int i = 0;
+        while (i < lower.length()) {
+            int index = node.indexOf(lower.charAt(i));
+            if (index < 0) {
+                Node<V> leaf = new Node<>(lower.substring(i));
+                leaf.set(key, value);
+                node.insert(-index - 1, leaf);
+                size++;
+                return null;
+            }
+
+            Node<V> child = node.children[index];
+            String label = child.label;
+            int common = 1;
+            while (common < label.length() && i + common < lower.length() && label.charAt(common) == lower.charAt(i + common)) {
+                common++;
+            }
+
+            if (common < label.length()) {
+                // Split the edge at the end of the common run.
+                Node<V> middle = new Node<>(label.substring(0, common));
+                child.label = label.substring(common);
+                middle.insert(0, child);
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            i += common;
+        }
+
+        V previous = node.value;
+        node.set(key, value);
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Get the value of a key, ignoring case.
+     *
+     * @param key The key
+     * @return The value, or null if absent
+     */
+    @Nullable
+    public V get(@NotNull CharSequence key) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.indexOf(Character.toLowerCase(key.charAt(i)));
+            if (index < 0) {
+                return null;
+            }
+
+            node = node.children[index];
+            if (key.length() - i < node.label.length() || !node.matches(key, i)) {
+                return null;
+            }
+            i += node.label.length();
+        }
+        return node.value;
+    }
+
+    /**
+     * Get the keys starting with a prefix, ignoring case.
+     *
+     * @param prefix The prefix
+     * @param limit The maximum amount of keys
+     * @return The keys as they were added, sorted ignoring case
+     */
+    @NotNull
+    public List<String> complete(@NotNull CharSequence prefix, int limit) {
+        Node<V> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.indexOf(Character.toLowerCase(prefix.charAt(i)));
+            if (index < 0) {
+                return List.of();
+            }
+
+            node = node.children[index];
+            if (!node.matches(prefix, i)) {
+                return List.of();
+            }
+            i += node.label.length();
+        }
+
+        List<String> keys = new ArrayList<>();
+        collect(node, keys, limit);
+        return keys;
+    }
+
+    /**
+     * All values, sorted by key ignoring case.
+     *
+     * @return The values
+     */
+    @NotNull
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        collectValues(root, values);
+        return values;
+    }
+
+    /**
+     * The amount of keys in this tree.
+     *
+     * @return The size
+     */
+    public int size() {
+        return size;
+    }
+
+    private static <V> void collect(Node<V> node, List<String> keys, int limit) {
+        if (keys.size() >= limit) {
+            return;
+        }
+        if (node.value != null) {
+            keys.add(node.key);
+        }
+        for (Node<V> child : node.children) {
+            collect(child, keys, limit);
+        }
+    }
+
+    private static <V> void collectValues(Node<V> node, List<V> values) {
+        if (node.value != null) {
+            values.add(node.value);
+        }
+        for (Node<V> child : node.children) {
+            collectValues(child, values);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class Node<V> {
+
+        private static final Node<?>[] EMPTY = new Node[0];
+
+        private String label;
+        private Node<V>[] children = (Node<V>[]) EMPTY;
+        private String key;
+        private V value;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private void set(String key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Binary search for the child whose label starts with a character.
+         *
+         * @return The index, or {@code -(insertion point) - 1}
+         */
+        private int indexOf(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = children[mid].label.charAt(0);
+                if (first < c) {
+                    low = mid + 1;
+                } else if (first > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void insert(int index, Node<V> child) {
+            Node<V>[] updated = new Node[children.length + 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            updated[index] = child;
+            System.arraycopy(children, index, updated, index + 1, children.length - index);
+            children = updated;
+        }
+
+        /**
+         * Whether the input from an offset matches this label, or ends within it as a prefix.
+         */
+        private boolean matches(CharSequence input, int offset) {
+            int length = Math.min(label.length(), input.length() - offset);
+            for (int j = 1; j < length; j++) {
+                if (label.charAt(j) != Character.toLowerCase(input.charAt(offset + j))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,273 @@
+package tsp.papercommands.command.tree;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.papercommands.command.CommandAssertionException;
+import tsp.papercommands.command.CommandContext;
+import tsp.papercommands.command.CommandSignature;
+import tsp.papercommands.command.PaperCommand;
+import tsp.papercommands.command.PaperCommandContext;
+import tsp.papercommands.cooldown.Cooldown;
+import tsp.papercommands.metrics.CommandMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A {@link PaperCommand} that routes to {@link CommandNode subcommands}, e.g. {@code /eco give|take|set <player> <amount>}.
+ * Each argument is matched against the children of the current node in a {@link RadixTree}, so dispatch costs one lookup per level.
+ * The handler of the deepest matching node receives a context holding only the arguments after its path,
+ * bound to that node's usage. Tab completion is derived from the tree and the node usages.
+ *
+ * <pre>{@code
+ * new TreeCommand("eco", "eco.use", usageMessage, permissionMessage)
+ *         .then(CommandNode.literal("give", "add").permission("eco.give").usage("<player:player> <amount:double>").executes(ctx -> ...))
+ *         .then(CommandNode.literal("reset").permission("eco.reset").executes(ctx -> ...))
+ *         .register(plugin);
+ * }</pre>
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class TreeCommand extends PaperCommand {
+
+    private final CommandNode root;
+    private final Map<CommandNode, CommandMetrics.Recorder> metrics = new ConcurrentHashMap<>();
+
+    public TreeCommand(@NotNull String name, @Nullable String permission, @Nullable Component usageMessage, @Nullable Component permissionMessage) {
+        super(name, null, permission, usageMessage, permissionMessage, null);
+        this.root = CommandNode.literal(name);
+    }
+
+    public TreeCommand(@NotNull String name) {
+        this(name, null, null, null);
+    }
+
+    /**
+     * The root node, its handler runs when no subcommand matches.
+     *
+     * @return The root node
+     */
+    @NotNull
+    public CommandNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Add a subcommand.
+     *
+     * @param child The subcommand
+     * @return This command
+     * @see CommandNode#then(CommandNode)
+     */
+    @NotNull
+    public TreeCommand then(@NotNull CommandNode child) {
+        root.then(child);
+        return this;
+    }
+
+    /**
+     * Set the handler used when no subcommand matches.
+     *
+     * @param handler The handler
+     * @return This command
+     */
+    @NotNull
+    public TreeCommand executes(@Nullable Consumer<CommandContext<CommandSender>> handler) {
+        root.executes(handler);
+        return this;
+    }
+
+    /**
+     * Started by the handler once a subcommand is resolved and its arguments are bound.
+     */
+    @Override
+    protected void startCooldown(CommandContext<CommandSender> ctx) {}
+
+    @Override
+    public void handler(CommandContext<CommandSender> ctx) {
+        dispatch(ctx);
+    }
+
+    /**
+     * Resolve the subcommand and run its handler.
+     *
+     * @return Whether a handler ran, false on a permission or usage failure, which is recorded on the node that rejected it
+     */
+    @Override
+    protected boolean dispatch(CommandContext<CommandSender> ctx) {
+        CommandSender sender = ctx.sender();
+        List<String> args = ctx.rawArgs();
+        String[] raw = args.toArray(new String[0]);
+
+        CommandNode node = root;
+        int depth = 0;
+        while (depth < args.size()) {
+            CommandNode child = node.getChild(args.get(depth));
+            if (child == null) {
+                break;
+            }
+            if (!child.canUse(sender)) {
+                metrics(child).recordPermissionFailure();
+                String permission = child.getPermission().orElse(null);
+                getPermissionTemplate(sender, raw).ifPresent(template -> ctx.reply(template.render(slot -> switch (slot) {
+                    case "permission" -> permission;
+                    case "label" -> getName();
+                    default -> null;
+                })));
+                return false;
+            }
+            node = child;
+            depth++;
+        }
+
+        PaperCommandContext<CommandSender> sub = ctx instanceof PaperCommandContext<CommandSender> paper
+                ? paper.slice(depth)
+                : new PaperCommandContext<>(sender, this, Arrays.copyOfRange(raw, depth, raw.length), ctx.options());
+        CommandSignature signature = node.getSignature().orElse(null);
+        Consumer<CommandContext<CommandSender>> handler = node.getHandler().orElse(null);
+        if (handler == null || (signature != null && !sub.bind(signature))) {
+            metrics(node).recordUsageFailure();
+            sendUsage(ctx, node, raw);
+            return false;
+        }
+        // Only valid input starts the command's cooldown, a mistyped subcommand does not.
+        super.startCooldown(sub);
+        Cooldown cooldown = node.getCooldown().orElse(null);
+        if (cooldown != null) {
+            try {
+                sub.assertCooldown(cooldown);
+            } catch (CommandAssertionException ex) {
+                if (node != root) {
+                    metrics(node).recordAssertionFailure();
+                }
+                throw ex;
+            }
+        }
+        if (node == root) {
+            handler.accept(sub);
+            return true;
+        }
+
+        // The command itself records the whole invocation, subcommands are recorded under their path.
+        CommandMetrics.Recorder recorder = metrics(node);
+        long start = recorder.start();
+        try {
+            handler.accept(sub);
+        } catch (CommandAssertionException ex) {
+            recorder.recordAssertionFailure();
+            throw ex;
+        } catch (RuntimeException | Error ex) {
+            recorder.recordError();
+            throw ex;
+        } finally {
+            recorder.recordExecution(start);
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> tabHandler(CommandContext<CommandSender> ctx) {
+        return complete(ctx, false);
+    }
+
+    /**
+     * Completes like {@link #tabHandler(CommandContext)}, but falls back to the main thread for
+     * {@link tsp.papercommands.argument.parser.ArgumentParser#isMainThreadOnly() main thread only} slots.
+     */
+    @Override
+    public List<String> asyncTabHandler(CommandContext<CommandSender> ctx) {
+        return complete(ctx, true);
+    }
+
+    private List<String> complete(CommandContext<CommandSender> ctx, boolean async) {
+        List<String> args = ctx.rawArgs();
+        if (args.isEmpty()) {
+            return null;
+        }
+
+        CommandSender sender = ctx.sender();
+        int last = args.size() - 1;
+        CommandNode node = root;
+        int depth = 0;
+        while (depth < last) {
+            CommandNode child = node.getChild(args.get(depth));
+            if (child == null || !child.canUse(sender)) {
+                break;
+            }
+            node = child;
+            depth++;
+        }
+
+        if (async) {
+            CommandSignature signature = node.getSignature().orElse(null);
+            CommandSignature.Slot slot = signature != null ? signature.slotAt(last - depth) : null;
+            if (slot != null && slot.parser().isMainThreadOnly()) {
+                return null;
+            }
+        }
+
+        String input = args.get(last);
+        List<String> suggestions = new ArrayList<>();
+        if (depth == last) {
+            suggestions.addAll(node.complete(sender, input));
+        }
+
+        CommandSignature signature = node.getSignature().orElse(null);
+        if (signature != null) {
+            List<String> values = signature.suggest(last - depth, input);
+            if (values != null) {
+                suggestions.addAll(values);
+            }
+        } else if (node.getChildren().isEmpty()) {
+            return null; // Free-form arguments, fall back to player names
+        }
+        return suggestions;
+    }
+
+    /**
+     * The metrics recorder of a node, the command's own recorder for the root.
+     */
+    private CommandMetrics.Recorder metrics(CommandNode node) {
+        if (node == root) {
+            return getMetrics();
+        }
+        return metrics.computeIfAbsent(node, key -> CommandMetrics.INSTANCE.recorder(getName() + " " + key.path()));
+    }
+
+    /**
+     * Reply with the usage of a node, its own usage if it has one, otherwise the subcommands the sender may use.
+     */
+    private void sendUsage(CommandContext<CommandSender> ctx, CommandNode node, String[] args) {
+        StringJoiner usage = new StringJoiner(" ");
+        usage.add("/" + getName());
+        if (!node.path().isEmpty()) {
+            usage.add(node.path());
+        }
+
+        if (node.getSignature().isPresent()) {
+            usage.add(node.getSignature().get().usage());
+        } else {
+            StringJoiner children = new StringJoiner("|", "<", ">");
+            for (CommandNode child : node.getChildren()) {
+                if (child.canUse(ctx.sender())) {
+                    children.add(child.getName());
+                }
+            }
+            usage.add(children.toString());
+        }
+
+        getUsageTemplate(ctx.sender(), args).ifPresent(template -> ctx.reply(template.render(slot -> switch (slot) {
+            case "usage" -> usage.toString();
+            case "label" -> getName();
+            default -> null;
+        })));
+    }
+
+}
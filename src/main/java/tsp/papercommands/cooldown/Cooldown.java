@@ -0,0 +1,259 @@
+package tsp.papercommands.cooldown;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import tsp.papercommands.message.MessageTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A per-player cooldown of a command or {@link tsp.papercommands.command.tree.CommandNode subcommand}, with shorter or longer
+ * durations for permission based tiers. A cooldown holds its own {@link CooldownTracker}, commands sharing an instance share their cooldown.
+ * Only players are subject to cooldowns.
+ *
+ * <pre>{@code
+ * private static final Cooldown REWARD = Cooldown.builder(Duration.ofMinutes(5))
+ *         .tier("rewards.vip", Duration.ofMinutes(1))
+ *         .bypass("rewards.bypass")
+ *         .build();
+ * }</pre>
+ *
+ * Return it from {@link tsp.papercommands.command.PaperCommand#getCooldown()}, pass it to
+ * {@link tsp.papercommands.command.tree.CommandNode#cooldown(Cooldown)} or check it manually with
+ * {@link tsp.papercommands.command.CommandContext#assertCooldown(Cooldown)}.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class Cooldown {
+
+    private static final MessageTemplate DEFAULT_MESSAGE = MessageTemplate.compile(Component.text("You must wait {remaining} before using this again.", NamedTextColor.RED));
+
+    private final long millis;
+    private final Tier[] tiers;
+    @Nullable
+    private final String bypass;
+    @NotNull
+    private final MessageTemplate message;
+    private final CooldownTracker tracker;
+
+    private Cooldown(long millis, Tier[] tiers, @Nullable String bypass, @NotNull MessageTemplate message, @NotNull CooldownTracker tracker) {
+        this.millis = millis;
+        this.tiers = tiers;
+        this.bypass = bypass;
+        this.message = message;
+        this.tracker = tracker;
+    }
+
+    @NotNull
+    public static Builder builder(@NotNull Duration duration) {
+        return new Builder(duration);
+    }
+
+    /**
+     * Create a cooldown without tiers.
+     *
+     * @param duration The duration
+     * @return The cooldown
+     */
+    @NotNull
+    public static Cooldown of(@NotNull Duration duration) {
+        return builder(duration).build();
+    }
+
+    /**
+     * The duration for a sender: 0 for the bypass permission or non-players,
+     * otherwise the first tier whose permission the sender has, or the default duration.
+     *
+     * @param sender The sender
+     * @return The duration in milliseconds
+     */
+    public long duration(@NotNull CommandSender sender) {
+        if (!(sender instanceof Player) || (bypass != null && sender.hasPermission(bypass))) {
+            return 0;
+        }
+        for (Tier tier : tiers) {
+            if (sender.hasPermission(tier.permission())) {
+                return tier.millis();
+            }
+        }
+        return millis;
+    }
+
+    /**
+     * Start the cooldown of a sender unless it is running.
+     *
+     * @param sender The sender
+     * @return 0 if the sender may proceed, otherwise the remaining milliseconds
+     */
+    public long tryAcquire(@NotNull CommandSender sender) {
+        if (!(sender instanceof Player player)) {
+            return 0;
+        }
+        long duration = duration(sender);
+        return duration > 0 ? tracker.acquire(player.getUniqueId(), duration) : 0;
+    }
+
+    /**
+     * The remaining time of a sender's cooldown.
+     *
+     * @param sender The sender
+     * @return The remaining milliseconds, 0 if not running
+     */
+    public long remaining(@NotNull CommandSender sender) {
+        return sender instanceof Player player ? tracker.remaining(player.getUniqueId()) : 0;
+    }
+
+    /**
+     * End a player's cooldown early.
+     *
+     * @param id The id of the player
+     * @return Whether a cooldown was running
+     */
+    public boolean reset(@NotNull UUID id) {
+        return tracker.reset(id);
+    }
+
+    /**
+     * The message sent while on cooldown, with the {@code {remaining}} slot.
+     *
+     * @return The message
+     */
+    @NotNull
+    public MessageTemplate getMessage() {
+        return message;
+    }
+
+    /**
+     * Render the message for a remaining time.
+     *
+     * @param remaining The remaining milliseconds
+     * @return The message
+     */
+    @NotNull
+    public Component message(long remaining) {
+        return message.render("remaining", format(remaining));
+    }
+
+    @NotNull
+    public CooldownTracker getTracker() {
+        return tracker;
+    }
+
+    @NotNull
+    public List<Tier> getTiers() {
+        return List.of(tiers);
+    }
+
+    /**
+     * Format a remaining time for players, e.g. {@code 1h 5m}, {@code 2m 30s} or {@code 4.2s}.
+     *
+     * @param millis The milliseconds
+     * @return The formatted time
+     */
+    @NotNull
+    public static String format(long millis) {
+        if (millis < 10_000) {
+            long tenths = (millis + 99) / 100; // Round up, never show 0.0s while still on cooldown
+            return tenths / 10 + "." + tenths % 10 + "s";
+        }
+
+        long seconds = (millis + 999) / 1000;
+        long hours = seconds / 3600;
+        long minutes = seconds / 60 % 60;
+        seconds %= 60;
+        if (hours > 0) {
+            return minutes > 0 ? hours + "h " + minutes + "m" : hours + "h";
+        }
+        if (minutes > 0) {
+            return seconds > 0 ? minutes + "m " + seconds + "s" : minutes + "m";
+        }
+        return seconds + "s";
+    }
+
+    /**
+     * A duration for senders with a permission.
+     *
+     * @param permission The permission
+     * @param millis The duration in milliseconds
+     */
+    public record Tier(@NotNull String permission, long millis) {}
+
+    /**
+     * Builder for {@link Cooldown}.
+     */
+    public static final class Builder {
+
+        private final long millis;
+        private final List<Tier> tiers = new ArrayList<>();
+        private String bypass;
+        private MessageTemplate message = DEFAULT_MESSAGE;
+        private CooldownTracker tracker;
+
+        private Builder(Duration duration) {
+            this.millis = duration.toMillis();
+        }
+
+        /**
+         * Use another duration for senders with a permission. Tiers are checked in the order they are added.
+         *
+         * @param permission The permission
+         * @param duration The duration
+         * @return This builder
+         */
+        @NotNull
+        public Builder tier(@NotNull String permission, @NotNull Duration duration) {
+            tiers.add(new Tier(permission, duration.toMillis()));
+            return this;
+        }
+
+        /**
+         * Exempt senders with a permission.
+         *
+         * @param permission The permission
+         * @return This builder
+         */
+        @NotNull
+        public Builder bypass(@Nullable String permission) {
+            this.bypass = permission;
+            return this;
+        }
+
+        /**
+         * The message sent while on cooldown, with the {@code {remaining}} slot.
+         *
+         * @param message The message
+         * @return This builder
+         */
+        @NotNull
+        public Builder message(@NotNull Component message) {
+            this.message = MessageTemplate.compile(message);
+            return this;
+        }
+
+        /**
+         * The tracker holding the expiry times, a new one by default.
+         *
+         * @param tracker The tracker
+         * @return This builder
+         */
+        @NotNull
+        public Builder tracker(@NotNull CooldownTracker tracker) {
+            this.tracker = tracker;
+            return this;
+        }
+
+        @NotNull
+        public Cooldown build() {
+            return new Cooldown(millis, tiers.toArray(new Tier[0]), bypass, message, tracker != null ? tracker : new CooldownTracker());
+        }
+
+    }
+
+}
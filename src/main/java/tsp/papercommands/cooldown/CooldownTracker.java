@@ -0,0 +1,307 @@
+package tsp.papercommands.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * The expiry times of a {@link Cooldown}, keyed by {@link UUID}.
+ * <p>
+ * Entries live in primitive arrays: an open addressing table of entry indexes, and per entry the two halves of the id,
+ * the expiry and the links of a hashed timer wheel. Each operation first advances the wheel to the current time,
+ * removing every entry whose tick has fully elapsed, so memory is proportional to the cooldowns that are still running.
+ * Times come from a monotonic clock, changes of the wall clock do not affect running cooldowns.
+ * <p>
+ * All operations are synchronized and safe from any thread.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class CooldownTracker {
+
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final long TICK_MILLIS = 250;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final LongSupplier clock;
+    private final int[] wheel = new int[WHEEL_SIZE];
+    private long processed; // Last tick whose slot was swept
+
+    // Entries
+    private long[] most;
+    private long[] least;
+    private long[] expiry;
+    private int[] next; // Next entry in the wheel slot, or in the free list
+    private int[] prev;
+    private int free;
+    private int size;
+
+    // Open addressing table of entry index + 1, 0 when empty
+    private int[] table;
+
+    /**
+     * Create a tracker on the system's monotonic clock.
+     */
+    public CooldownTracker() {
+        this(() -> System.nanoTime() / 1_000_000);
+    }
+
+    /**
+     * Create a tracker on a custom clock.
+     *
+     * @param clock The current time in milliseconds, must never go backwards
+     */
+    public CooldownTracker(@NotNull LongSupplier clock) {
+        this.clock = clock;
+        this.processed = clock.getAsLong() / TICK_MILLIS;
+        reset();
+    }
+
+    /**
+     * Start a cooldown unless one is running.
+     *
+     * @param id The id
+     * @param millis The duration in milliseconds
+     * @return 0 if the cooldown was started, otherwise the remaining milliseconds of the running one
+     */
+    public synchronized long acquire(@NotNull UUID id, long millis) {
+        long now = advance();
+        int entry = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (entry != -1) {
+            if (expiry[entry] > now) {
+                return expiry[entry] - now;
+            }
+            unlink(entry);
+            if (millis <= 0) {
+                remove(entry);
+                return 0;
+            }
+        } else if (millis <= 0) {
+            return 0;
+        } else {
+            entry = insert(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+
+        expiry[entry] = now + millis;
+        link(entry);
+        return 0;
+    }
+
+    /**
+     * The remaining time of a cooldown.
+     *
+     * @param id The id
+     * @return The remaining milliseconds, 0 if not running
+     */
+    public synchronized long remaining(@NotNull UUID id) {
+        long now = advance();
+        int entry = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return entry != -1 && expiry[entry] > now ? expiry[entry] - now : 0;
+    }
+
+    /**
+     * End a cooldown early.
+     *
+     * @param id The id
+     * @return Whether a cooldown was running
+     */
+    public synchronized boolean reset(@NotNull UUID id) {
+        long now = advance();
+        int entry = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (entry == -1) {
+            return false;
+        }
+        boolean running = expiry[entry] > now;
+        unlink(entry);
+        remove(entry);
+        return running;
+    }
+
+    /**
+     * End every cooldown and release the memory.
+     */
+    public synchronized void clear() {
+        reset();
+    }
+
+    /**
+     * The amount of tracked cooldowns, including ones that expired within the current tick.
+     *
+     * @return The size
+     */
+    public synchronized int size() {
+        advance();
+        return size;
+    }
+
+    private void reset() {
+        Arrays.fill(wheel, -1);
+        most = new long[INITIAL_CAPACITY];
+        least = new long[INITIAL_CAPACITY];
+        expiry = new long[INITIAL_CAPACITY];
+        next = new int[INITIAL_CAPACITY];
+        prev = new int[INITIAL_CAPACITY];
+        table = new int[INITIAL_CAPACITY * 2];
+        size = 0;
+        free = 0;
+        for (int i = 0; i < INITIAL_CAPACITY; i++) {
+            next[i] = i + 1 < INITIAL_CAPACITY ? i + 1 : -1;
+        }
+    }
+
+    // Timer wheel
+
+    /**
+     * Sweep the slots of every tick that fully elapsed since the last operation.
+     *
+     * @return The current time
+     */
+    private long advance() {
+        long now = clock.getAsLong();
+        long tick = now / TICK_MILLIS;
+        // Entries of the current tick may not have expired yet, only sweep the ones before it.
+        long last = tick - 1;
+        if (last <= processed) {
+            return now;
+        }
+
+        long from = Math.max(processed + 1, last - WHEEL_MASK);
+        for (long t = from; t <= last && size > 0; t++) {
+            sweep((int) (t & WHEEL_MASK), now);
+        }
+        processed = last;
+        return now;
+    }
+
+    private void sweep(int slot, long now) {
+        int entry = wheel[slot];
+        while (entry != -1) {
+            int following = next[entry];
+            if (expiry[entry] <= now) {
+                unlink(entry);
+                remove(entry);
+            }
+            // Otherwise the entry is due in a later rotation and stays in its slot.
+            entry = following;
+        }
+    }
+
+    private void link(int entry) {
+        int slot = (int) ((expiry[entry] / TICK_MILLIS) & WHEEL_MASK);
+        int head = wheel[slot];
+        next[entry] = head;
+        prev[entry] = -1 - slot; // Negative: head of the slot
+        if (head != -1) {
+            prev[head] = entry;
+        }
+        wheel[slot] = entry;
+    }
+
+    private void unlink(int entry) {
+        int before = prev[entry];
+        int after = next[entry];
+        if (before < 0) {
+            wheel[-1 - before] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after != -1) {
+            prev[after] = before;
+        }
+    }
+
+    // Table
+
+    private int find(long most, long least) {
+        int mask = table.length - 1;
+        for (int i = hash(most, least) & mask; ; i = (i + 1) & mask) {
+            int slot = table[i];
+            if (slot == 0) {
+                return -1;
+            }
+            int entry = slot - 1;
+            if (this.most[entry] == most && this.least[entry] == least) {
+                return entry;
+            }
+        }
+    }
+
+    private int insert(long most, long least) {
+        if (free == -1) {
+            grow();
+        }
+        int entry = free;
+        free = next[entry];
+        this.most[entry] = most;
+        this.least[entry] = least;
+        size++;
+
+        int mask = table.length - 1;
+        int i = hash(most, least) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = entry + 1;
+        return entry;
+    }
+
+    /**
+     * Remove an unlinked entry from the table and return it to the free list.
+     */
+    private void remove(int entry) {
+        int mask = table.length - 1;
+        int i = hash(most[entry], least[entry]) & mask;
+        while (table[i] != entry + 1) {
+            i = (i + 1) & mask;
+        }
+
+        // Shift back the following entries of the probe sequence instead of leaving a tombstone.
+        table[i] = 0;
+        for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+            int moved = table[j] - 1;
+            int home = hash(most[moved], least[moved]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                table[i] = table[j];
+                table[j] = 0;
+                i = j;
+            }
+        }
+
+        next[entry] = free;
+        free = entry;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = most.length;
+        int grown = capacity * 2;
+        most = Arrays.copyOf(most, grown);
+        least = Arrays.copyOf(least, grown);
+        expiry = Arrays.copyOf(expiry, grown);
+        next = Arrays.copyOf(next, grown);
+        prev = Arrays.copyOf(prev, grown);
+        for (int i = capacity; i < grown; i++) {
+            next[i] = i + 1 < grown ? i + 1 : -1;
+        }
+        free = capacity;
+
+        // Every entry is in use when growing, rehash them all.
+        table = new int[grown * 2];
+        int mask = table.length - 1;
+        for (int entry = 0; entry < capacity; entry++) {
+            int i = hash(most[entry], least[entry]) & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = entry + 1;
+        }
+    }
+
+    private static int hash(long most, long least) {
+        long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,276 @@
+package tsp.papercommands.message;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A message compiled once into a component skeleton with named placeholder slots, written as {@code {name}} in text.
+ * Rendering fills the slots while walking the precompiled skeleton, subtrees without placeholders are reused as-is
+ * and nothing is matched or replaced at render time.
+ * <p>
+ * A slot value may be a {@link ComponentLike}, which is inserted as a child, or any other object, which is inserted as text.
+ * Slots without a value are rendered as their literal placeholder. Placeholders are only recognized in text content,
+ * not in hover or click events.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class MessageTemplate {
+
+    private final Component source;
+    private final Node root;
+    private final String[] slots;
+
+    private MessageTemplate(Component source, Node root, String[] slots) {
+        this.source = source;
+        this.root = root;
+        this.slots = slots;
+    }
+
+    /**
+     * Compile a template from a component.
+     *
+     * @param component The component
+     * @return The template
+     */
+    @NotNull
+    public static MessageTemplate compile(@NotNull Component component) {
+        Map<String, Integer> slots = new LinkedHashMap<>();
+        Node root = compile(component, slots);
+        return new MessageTemplate(component, root, slots.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * Compile a template from a MiniMessage string.
+     *
+     * @param input The MiniMessage input
+     * @return The template
+     */
+    @NotNull
+    public static MessageTemplate miniMessage(@NotNull String input) {
+        return compile(MiniMessage.miniMessage().deserialize(input));
+    }
+
+    /**
+     * The component this template was compiled from.
+     *
+     * @return The source component
+     */
+    @NotNull
+    public Component source() {
+        return source;
+    }
+
+    /**
+     * The names of the slots, in order of first appearance.
+     *
+     * @return The slot names
+     */
+    @NotNull
+    public List<String> slots() {
+        return List.of(slots);
+    }
+
+    /**
+     * Render the template, looking up each slot once.
+     *
+     * @param values The value of a slot by name, null to keep the placeholder
+     * @return The message
+     */
+    @NotNull
+    public Component render(@NotNull Function<String, ?> values) {
+        if (slots.length == 0) {
+            return source;
+        }
+
+        Object[] resolved = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            resolved[i] = values.apply(slots[i]);
+        }
+        return root.render(resolved, slots);
+    }
+
+    /**
+     * Render the template.
+     *
+     * @param values The values of the slots by name
+     * @return The message
+     */
+    @NotNull
+    public Component render(@NotNull Map<String, ?> values) {
+        return render(values::get);
+    }
+
+    /**
+     * Render the template with a single slot.
+     *
+     * @param name The name of the slot
+     * @param value The value
+     * @return The message
+     */
+    @NotNull
+    public Component render(@NotNull String name, @Nullable Object value) {
+        return render(slot -> slot.equals(name) ? value : null);
+    }
+
+    private static Node compile(Component component, Map<String, Integer> slots) {
+        List<Component> children = component.children();
+        Node[] nodes = new Node[children.size()];
+        boolean dynamic = false;
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = compile(children.get(i), slots);
+            dynamic |= !(nodes[i] instanceof Static);
+        }
+
+        if (component instanceof TextComponent text) {
+            Object[] parts = split(text.content(), slots);
+            if (parts != null) {
+                return new Text(text.style(), parts, nodes);
+            }
+        }
+        return dynamic ? new Parent(component, nodes) : new Static(component);
+    }
+
+    /**
+     * Split text into literal strings and {@link Slot slots}.
+     *
+     * @return The parts, or null if the text has no placeholders
+     */
+    @Nullable
+    private static Object[] split(String content, Map<String, Integer> slots) {
+        List<Object> parts = null;
+        int literal = 0;
+        int open = content.indexOf('{');
+        while (open != -1) {
+            int close = open + 1;
+            while (close < content.length() && isNameChar(content.charAt(close))) {
+                close++;
+            }
+
+            if (close < content.length() && close > open + 1 && content.charAt(close) == '}') {
+                if (parts == null) {
+                    parts = new ArrayList<>();
+                }
+                if (open > literal) {
+                    parts.add(content.substring(literal, open));
+                }
+                String name = content.substring(open + 1, close);
+                Integer index = slots.get(name);
+                if (index == null) {
+                    index = slots.size();
+                    slots.put(name, index);
+                }
+                parts.add(new Slot(index));
+                literal = close + 1;
+                open = content.indexOf('{', literal);
+            } else {
+                open = content.indexOf('{', open + 1);
+            }
+        }
+
+        if (parts == null) {
+            return null;
+        }
+        if (literal < content.length()) {
+            parts.add(content.substring(literal));
+        }
+        return parts.toArray();
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == '.';
+    }
+
+    private static Component[] render(Node[] nodes, Object[] values, String[] names) {
+        Component[] components = new Component[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            components[i] = nodes[i].render(values, names);
+        }
+        return components;
+    }
+
+    private sealed interface Node permits Static, Parent, Text {
+
+        Component render(Object[] values, String[] names);
+
+    }
+
+    /**
+     * A subtree without placeholders.
+     */
+    private record Static(Component component) implements Node {
+
+        @Override
+        public Component render(Object[] values, String[] names) {
+            return component;
+        }
+
+    }
+
+    /**
+     * A component without placeholders of its own, but with children that have some.
+     */
+    private record Parent(Component component, Node[] children) implements Node {
+
+        @Override
+        public Component render(Object[] values, String[] names) {
+            return component.children(Arrays.asList(MessageTemplate.render(children, values, names)));
+        }
+
+    }
+
+    /**
+     * A text component with placeholders.
+     * String values are joined into its content, component values split it into children that inherit its style.
+     */
+    private record Text(Style style, Object[] parts, Node[] children) implements Node {
+
+        @Override
+        public Component render(Object[] values, String[] names) {
+            Component[] rendered = MessageTemplate.render(children, values, names);
+            boolean inline = true;
+            for (Object part : parts) {
+                if (part instanceof Slot slot && values[slot.index] instanceof ComponentLike) {
+                    inline = false;
+                    break;
+                }
+            }
+
+            if (inline) {
+                StringBuilder content = new StringBuilder();
+                for (Object part : parts) {
+                    if (part instanceof Slot slot) {
+                        Object value = values[slot.index];
+                        content.append(value != null ? value : "{" + names[slot.index] + "}");
+                    } else {
+                        content.append((String) part);
+                    }
+                }
+                return Component.text(content.toString(), style).children(Arrays.asList(rendered));
+            }
+
+            List<Component> components = new ArrayList<>(parts.length + rendered.length);
+            for (Object part : parts) {
+                if (part instanceof Slot slot) {
+                    Object value = values[slot.index];
+                    components.add(value instanceof ComponentLike like ? like.asComponent() : Component.text(value != null ? String.valueOf(value) : "{" + names[slot.index] + "}"));
+                } else {
+                    components.add(Component.text((String) part));
+                }
+            }
+            components.addAll(Arrays.asList(rendered));
+            return Component.text("", style).children(components);
+        }
+
+    }
+
+    private record Slot(int index) {}
+
+}
@@ -0,0 +1,195 @@
+package tsp.papercommands.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-command counters and latency histograms, recorded by {@link tsp.papercommands.command.PaperCommand PaperCommand}
+ * around its handlers. Subcommands of a {@link tsp.papercommands.command.tree.TreeCommand TreeCommand} are recorded
+ * under their path, e.g. {@code eco give}, in addition to the command itself.
+ * <p>
+ * Recording is lock-free and safe from any thread. It can be turned off with {@link #setEnabled(boolean)}.
+ *
+ * @author TheSilentPro (Silent)
+ * @see MetricsCommand
+ */
+public final class CommandMetrics {
+
+    /**
+     * Singleton instance used by all commands.
+     */
+    public static final CommandMetrics INSTANCE = new CommandMetrics();
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+
+    private CommandMetrics() {}
+
+    /**
+     * Get the recorder of a command, creating it if needed. Callers should keep the recorder instead of looking it up per call.
+     *
+     * @param command The command name or subcommand path
+     * @return The recorder
+     */
+    @NotNull
+    public Recorder recorder(@NotNull String command) {
+        return recorders.computeIfAbsent(command, Recorder::new);
+    }
+
+    /**
+     * Get the statistics of a command.
+     *
+     * @param command The command name or subcommand path
+     * @return The statistics, if the command was recorded
+     */
+    @NotNull
+    public Optional<Stats> stats(@NotNull String command) {
+        return Optional.ofNullable(recorders.get(command)).map(Recorder::stats);
+    }
+
+    /**
+     * Get the statistics of every recorded command.
+     *
+     * @return The statistics, sorted by name
+     */
+    @NotNull
+    public List<Stats> all() {
+        List<Stats> stats = new ArrayList<>(recorders.size());
+        for (Recorder recorder : recorders.values()) {
+            stats.add(recorder.stats());
+        }
+        stats.sort(Comparator.comparing(Stats::command));
+        return stats;
+    }
+
+    /**
+     * Get the slowest commands by 99th percentile execution latency.
+     *
+     * @param limit The maximum amount of commands
+     * @return The statistics, slowest first
+     */
+    @NotNull
+    public List<Stats> slowest(int limit) {
+        List<Stats> stats = new ArrayList<>();
+        for (Stats stat : all()) {
+            if (stat.execution().count() > 0) {
+                stats.add(stat);
+            }
+        }
+        stats.sort(Comparator.comparingLong((Stats stat) -> stat.execution().p99()).reversed());
+        return stats.size() > limit ? List.copyOf(stats.subList(0, limit)) : stats;
+    }
+
+    /**
+     * Clear all recorded data.
+     */
+    public void reset() {
+        for (Recorder recorder : recorders.values()) {
+            recorder.reset();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records the invocations of a single command or subcommand.
+     */
+    public static final class Recorder {
+
+        private final String command;
+        private final LatencyHistogram execution = new LatencyHistogram();
+        private final LatencyHistogram completion = new LatencyHistogram();
+        private final LongAdder usageFailures = new LongAdder();
+        private final LongAdder permissionFailures = new LongAdder();
+        private final LongAdder assertionFailures = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Recorder(String command) {
+            this.command = command;
+        }
+
+        /**
+         * The current time to pass to the record methods, or 0 if metrics are disabled.
+         *
+         * @return The start time in nanoseconds
+         */
+        public long start() {
+            return INSTANCE.enabled ? System.nanoTime() : 0;
+        }
+
+        public void recordExecution(long start) {
+            if (start != 0) {
+                execution.record(System.nanoTime() - start);
+            }
+        }
+
+        public void recordCompletion(long start) {
+            if (start != 0) {
+                completion.record(System.nanoTime() - start);
+            }
+        }
+
+        public void recordUsageFailure() {
+            if (INSTANCE.enabled) {
+                usageFailures.increment();
+            }
+        }
+
+        public void recordPermissionFailure() {
+            if (INSTANCE.enabled) {
+                permissionFailures.increment();
+            }
+        }
+
+        public void recordAssertionFailure() {
+            if (INSTANCE.enabled) {
+                assertionFailures.increment();
+            }
+        }
+
+        public void recordError() {
+            if (INSTANCE.enabled) {
+                errors.increment();
+            }
+        }
+
+        @NotNull
+        public Stats stats() {
+            return new Stats(command, execution.snapshot(), completion.snapshot(), usageFailures.sum(), permissionFailures.sum(), assertionFailures.sum(), errors.sum());
+        }
+
+        private void reset() {
+            execution.reset();
+            completion.reset();
+            usageFailures.reset();
+            permissionFailures.reset();
+            assertionFailures.reset();
+            errors.reset();
+        }
+
+    }
+
+    /**
+     * The statistics of a command.
+     *
+     * @param command The command name or subcommand path
+     * @param execution Latencies of the handler, one per execution that passed the permission and usage checks
+     * @param completion Latencies of the tab handler
+     * @param usageFailures Invocations rejected by the usage check
+     * @param permissionFailures Invocations rejected by the permission check
+     * @param assertionFailures Executions that failed an assertion
+     * @param errors Executions that threw an unexpected exception
+     */
+    public record Stats(@NotNull String command, @NotNull LatencyHistogram.Snapshot execution, @NotNull LatencyHistogram.Snapshot completion,
+                        long usageFailures, long permissionFailures, long assertionFailures, long errors) {}
+
+}
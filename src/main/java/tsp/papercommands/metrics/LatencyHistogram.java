@@ -0,0 +1,133 @@
+package tsp.papercommands.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds with log-linear buckets.
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets, so percentiles are accurate to within 12.5%
+ * while the whole range of a {@code long} fits in a fixed array. Recording is a few atomic increments and never allocates.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos The latency in nanoseconds, negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(index(nanos));
+        count.increment();
+        sum.add(nanos);
+
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Take a snapshot. Concurrent recordings may be partially included.
+     *
+     * @return The snapshot
+     */
+    @NotNull
+    public Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = counts.get(i);
+            total += buckets[i];
+        }
+
+        long max = this.max.get();
+        long recorded = count.sum();
+        return new Snapshot(
+                total,
+                recorded == 0 ? 0 : sum.sum() / recorded,
+                percentile(buckets, total, 0.50, max),
+                percentile(buckets, total, 0.90, max),
+                percentile(buckets, total, 0.99, max),
+                max
+        );
+    }
+
+    /**
+     * Clear all recorded latencies.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * The upper bound of the bucket holding the given rank, never above the maximum.
+     */
+    private static long percentile(long[] buckets, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * quantile));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE, max);
+            }
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+
+    /**
+     * A point in time view of a histogram, all values in nanoseconds.
+     *
+     * @param count The amount of recorded latencies
+     * @param mean The mean
+     * @param p50 The median
+     * @param p90 The 90th percentile
+     * @param p99 The 99th percentile
+     * @param max The maximum
+     */
+    public record Snapshot(long count, long mean, long p50, long p90, long p99, long max) {}
+
+}
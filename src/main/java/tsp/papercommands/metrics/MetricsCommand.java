@@ -0,0 +1,53 @@
+package tsp.papercommands.metrics;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import tsp.papercommands.command.CommandContext;
+import tsp.papercommands.command.PaperCommand;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A staff command listing the slowest commands recorded by {@link CommandMetrics}, e.g. {@code /cmdmetrics 10}.
+ * Must be declared in plugin.yml like any other {@link PaperCommand} unless registered through a batch.
+ *
+ * @author TheSilentPro (Silent)
+ */
+public class MetricsCommand extends PaperCommand {
+
+    private static final int DEFAULT_COUNT = 10;
+
+    public MetricsCommand(@NotNull String name, @NotNull String permission) {
+        super(name, "[count:int]", permission, Component.text("Usage: {usage}", NamedTextColor.RED), Component.text("You do not have permission to view command metrics.", NamedTextColor.RED), null);
+    }
+
+    @Override
+    public void handler(CommandContext<CommandSender> ctx) {
+        Integer count = ctx.value("count");
+        List<CommandMetrics.Stats> slowest = CommandMetrics.INSTANCE.slowest(count != null ? Math.max(1, count) : DEFAULT_COUNT);
+        if (slowest.isEmpty()) {
+            ctx.reply(Component.text("No commands have been recorded yet.", NamedTextColor.GRAY));
+            return;
+        }
+
+        ctx.reply(Component.text("Slowest commands by p99:", NamedTextColor.GOLD));
+        for (CommandMetrics.Stats stats : slowest) {
+            LatencyHistogram.Snapshot execution = stats.execution();
+            ctx.reply(Component.text()
+                    .append(Component.text("/" + stats.command(), NamedTextColor.YELLOW))
+                    .append(Component.text(" " + execution.count() + " runs", NamedTextColor.GRAY))
+                    .append(Component.text(" p50 " + millis(execution.p50()) + " p99 " + millis(execution.p99()) + " max " + millis(execution.max()), NamedTextColor.WHITE))
+                    .append(Component.text(" | usage " + stats.usageFailures() + ", permission " + stats.permissionFailures()
+                            + ", assertion " + stats.assertionFailures() + ", errors " + stats.errors(), NamedTextColor.GRAY))
+                    .build());
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+    }
+
+}
@@ -0,0 +1,101 @@
+package tsp.papercommands;
+
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.parser.AliasIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasIndexTest {
+
+    private static final Map<String, List<String>> LEGACY = Map.of("sharpness", List.of("damage_all"));
+
+    private final Value customSharpness = new Value(new NamespacedKey("custom", "sharpness"));
+    private final Value sharpness = new Value(NamespacedKey.minecraft("sharpness"));
+    private final Value laser = new Value(new NamespacedKey("custom", "laser"));
+    private final Value maxHealth = new Value(NamespacedKey.minecraft("max_health"));
+    private final List<Value> registry = new ArrayList<>(List.of(customSharpness, sharpness, laser, maxHealth));
+    private final AtomicInteger builds = new AtomicInteger();
+    private final AliasIndex<Value> index = new AliasIndex<>(() -> {
+        builds.incrementAndGet();
+        return List.copyOf(registry);
+    }, value -> {
+        NamespacedKey key = value.getKey();
+        if (!key.getNamespace().equals(NamespacedKey.MINECRAFT)) {
+            return List.of();
+        }
+        List<String> aliases = new ArrayList<>(LEGACY.getOrDefault(key.getKey(), List.of()));
+        aliases.add("generic." + key.getKey());
+        return aliases;
+    });
+
+    @Test
+    void testNamespacedKeys() {
+        assertSame(sharpness, index.parse("minecraft:sharpness").orElseThrow());
+        assertSame(customSharpness, index.parse("CUSTOM:Sharpness").orElseThrow());
+        assertTrue(index.parse("minecraft:laser").isEmpty());
+        assertTrue(index.parse("stone").isEmpty());
+    }
+
+    @Test
+    void testBareNames() {
+        assertSame(sharpness, index.parse("sharpness").orElseThrow(), "Expected the minecraft namespace to win bare names even when listed later");
+        assertSame(laser, index.parse("laser").orElseThrow(), "Expected other namespaces to fill in names minecraft does not have");
+        assertSame(maxHealth, index.parse("MAX_HEALTH").orElseThrow());
+    }
+
+    @Test
+    void testLegacyAliases() {
+        assertSame(sharpness, index.parse("damage_all").orElseThrow());
+        assertSame(sharpness, index.parse("DAMAGE_ALL").orElseThrow());
+        assertSame(maxHealth, index.parse("generic.max_health").orElseThrow());
+        assertSame(sharpness, index.parse("generic.sharpness").orElseThrow(), "Expected an alias to resolve the same as its bare name");
+    }
+
+    @Test
+    void testSuggestions() {
+        assertEquals(List.of("minecraft:max_health"), index.suggest("minecraft:m"));
+        assertEquals(List.of("custom:laser"), index.suggest("LA"), "Expected other namespaces to be suggested in full");
+        assertTrue(index.suggest("damage").isEmpty(), "Expected legacy aliases not to be suggested");
+    }
+
+    @Test
+    void testInvalidate() {
+        assertEquals(4 + 3 + 3, index.size(), "Expected keys, bare names and aliases");
+        assertTrue(index.parse("new").isEmpty());
+        assertEquals(1, builds.get(), "Expected the table to be built once");
+
+        Value added = new Value(NamespacedKey.minecraft("new"));
+        registry.add(added);
+        assertTrue(index.parse("new").isEmpty(), "Expected the table to be cached until invalidated");
+
+        index.invalidate();
+        assertSame(added, index.parse("new").orElseThrow());
+        assertEquals(List.of("new"), index.suggest("ne"));
+        assertEquals(2, builds.get());
+    }
+
+    private static final class Value implements Keyed {
+
+        private final NamespacedKey key;
+
+        private Value(NamespacedKey key) {
+            this.key = key;
+        }
+
+        @NotNull
+        @Override
+        public NamespacedKey getKey() {
+            return key;
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package tsp.papercommands;
+
+import org.bukkit.Keyed;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemFlag;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.UnionValue;
+import tsp.papercommands.argument.parser.ArgumentUnion;
+import tsp.papercommands.argument.parser.NumbersParser;
+import tsp.papercommands.argument.parser.TokenShape;
+import tsp.papercommands.argument.parser.UUIDParser;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentUnionTest {
+
+    @Test
+    void testClassify() {
+        assertEquals(TokenShape.TEXT | TokenShape.WORD | TokenShape.NAME | TokenShape.INTEGER | TokenShape.DECIMAL, TokenShape.classify("123"));
+        assertEquals(TokenShape.TEXT | TokenShape.WORD | TokenShape.DECIMAL, TokenShape.classify("-1.5e3"));
+        assertEquals(TokenShape.TEXT | TokenShape.WORD | TokenShape.UUID, TokenShape.classify("069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+        assertEquals(TokenShape.TEXT | TokenShape.KEY, TokenShape.classify("minecraft:stone"));
+        assertEquals(TokenShape.TEXT | TokenShape.SELECTOR, TokenShape.classify("@e[type=zombie]"));
+        assertEquals(TokenShape.TEXT | TokenShape.WORD | TokenShape.NAME, TokenShape.classify("Notch_"));
+        assertEquals(TokenShape.TEXT, TokenShape.classify("a b"));
+        assertEquals(0, TokenShape.classify(""));
+    }
+
+    @Test
+    void testDispatch() {
+        AtomicInteger uuidCalls = new AtomicInteger();
+        AtomicInteger intCalls = new AtomicInteger();
+        ArgumentUnion union = ArgumentUnion.builder()
+                .with(UUID.class, s -> {
+                    uuidCalls.incrementAndGet();
+                    return Optional.ofNullable(UUIDParser.parse(s));
+                }, TokenShape.UUID)
+                .with(Integer.class, s -> {
+                    intCalls.incrementAndGet();
+                    return NumbersParser.parseInteger(s);
+                }, TokenShape.INTEGER)
+                .with(String.class, Optional::of, TokenShape.ANY)
+                .build();
+
+        UnionValue id = union.parse("42").orElseThrow();
+        assertEquals(1, id.index());
+        assertEquals(42, id.<Integer>get());
+        assertTrue(id.is(Integer.class));
+
+        UnionValue uuid = union.parse("069a79f4-44e9-4726-a5be-fca90e38aaf5").orElseThrow();
+        assertEquals(UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5"), uuid.as(UUID.class).orElseThrow());
+
+        UnionValue name = union.parse("Notch").orElseThrow();
+        assertEquals(String.class, name.type());
+        assertTrue(name.as(Integer.class).isEmpty());
+
+        assertEquals(1, uuidCalls.get(), "Expected the UUID parser to only see the UUID");
+        assertEquals(1, intCalls.get(), "Expected the integer parser to only see the integer");
+        assertTrue(union.parse("").isEmpty());
+    }
+
+    @Test
+    void testRegisteredTypes() {
+        ArgumentUnion union = ArgumentUnion.of(Integer.class, ItemFlag.class, UUID.class, String.class);
+
+        assertEquals(42, union.parse("42").orElseThrow().<Integer>get());
+        assertEquals(ItemFlag.HIDE_ENCHANTS, union.parse("hide_ench").orElseThrow().<ItemFlag>get());
+        assertEquals(UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5"), union.parse("069a79f444e94726a5befca90e38aaf5").orElseThrow().<UUID>get());
+        assertEquals("a b", union.parse("a b").orElseThrow().<String>get());
+        assertThrows(IllegalArgumentException.class, () -> ArgumentUnion.of(Object.class));
+    }
+
+    @Test
+    void testAcceptedShapes() {
+        assertEquals(TokenShape.INTEGER, TokenShape.accepted(int.class));
+        assertEquals(TokenShape.WORD, TokenShape.accepted(ItemFlag.class));
+        assertEquals(TokenShape.KEY | TokenShape.WORD, TokenShape.accepted(NamespacedKey.class));
+        assertEquals(TokenShape.KEY | TokenShape.WORD, TokenShape.accepted(Rank.class), "Expected keyed enums to accept namespaced keys");
+        assertEquals(TokenShape.ANY, TokenShape.accepted(String.class));
+    }
+
+    @Test
+    void testDuplicateType() {
+        assertThrows(IllegalArgumentException.class, () -> ArgumentUnion.builder()
+                .with(String.class, Optional::of, TokenShape.ANY)
+                .with(String.class, Optional::of, TokenShape.ANY));
+        assertThrows(IllegalArgumentException.class, () -> ArgumentUnion.builder().build());
+    }
+
+    private enum Rank implements Keyed {
+        GOLD;
+
+        @Override
+        public @NotNull NamespacedKey getKey() {
+            return NamespacedKey.minecraft(name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+}
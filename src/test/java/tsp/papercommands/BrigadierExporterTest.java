@@ -0,0 +1,40 @@
+package tsp.papercommands;
+
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.command.CommandSignature;
+import tsp.papercommands.command.brigadier.BrigadierExporter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrigadierExporterTest {
+
+    @Test
+    void testWordTypesGetTheirOwnNodes() {
+        assertEquals(4, BrigadierExporter.exportedSlots(CommandSignature.compile("<target:player> <amount:int> <id:uuid> <flag:bool>")));
+        assertEquals(3, BrigadierExporter.exportedSlots(CommandSignature.compile("<a:long> <b:double> [c:float]")));
+
+        ArgumentType<?> type = BrigadierExporter.argumentType(CommandSignature.compile("<amount:int>").slot(0));
+        StringArgumentType word = assertInstanceOf(StringArgumentType.class, type, "Expected integers to be sent as words, vanilla rejects +5");
+        assertEquals(StringArgumentType.StringType.SINGLE_WORD, word.getType());
+        assertInstanceOf(StringArgumentType.class, BrigadierExporter.argumentType(CommandSignature.compile("<id:uuid>").slot(0)), "Expected undashed UUIDs to pass the client");
+        assertInstanceOf(StringArgumentType.class, BrigadierExporter.argumentType(CommandSignature.compile("<target:player>").slot(0)), "Expected players by undashed UUID to pass the client");
+    }
+
+    @Test
+    void testTypesWiderThanTheClientGrammarTakeTheRest() {
+        assertEquals(1, BrigadierExporter.exportedSlots(CommandSignature.compile("<amount:int> <item:material> <count:int>")), "Expected namespaced keys and uppercase aliases to pass the client");
+        assertEquals(0, BrigadierExporter.exportedSlots(CommandSignature.compile("<world:world> <x:int>")), "Expected world names to be sent as typed");
+        assertEquals(0, BrigadierExporter.exportedSlots(CommandSignature.compile("<amount:number> <x:int>")), "Expected grouped numbers such as 1,000 to pass the client");
+        assertEquals(0, BrigadierExporter.exportedSlots(CommandSignature.compile("<message:component> <x:int>")));
+        assertEquals(0, BrigadierExporter.exportedSlots(CommandSignature.compile("<key:key>")));
+        assertEquals(0, BrigadierExporter.exportedSlots(CommandSignature.compile("<targets:selector> <x:int>")), "Expected selectors to be validated by our own parser");
+        assertEquals(0, BrigadierExporter.exportedSlots(CommandSignature.compile("<name> <amount:int>")), "Expected plain strings to accept any token");
+        assertEquals(1, BrigadierExporter.exportedSlots(CommandSignature.compile("<amount:int> <reason...>")));
+
+        assertNull(BrigadierExporter.argumentType(CommandSignature.compile("<item:material>").slot(0)));
+        assertNull(BrigadierExporter.argumentType(CommandSignature.compile("<amount:int...>").slot(0)), "Expected greedy slots to take the rest");
+    }
+
+}
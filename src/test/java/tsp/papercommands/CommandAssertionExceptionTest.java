@@ -0,0 +1,40 @@
+package tsp.papercommands;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import tsp.papercommands.command.CommandAssertionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandAssertionExceptionTest {
+
+    @Test
+    void testStackless() {
+        assertEquals(0, new CommandAssertionException(Component.text("No")).getStackTrace().length);
+        assertEquals(0, new CommandAssertionException().getStackTrace().length);
+        assertEquals(0, new CommandAssertionException(null).getStackTrace().length);
+
+        CommandAssertionException ex = new CommandAssertionException();
+        ex.addSuppressed(new IllegalStateException());
+        assertEquals(0, ex.getSuppressed().length, "Expected suppression to be disabled");
+    }
+
+    @Test
+    void testMessageIsRenderedLazily() {
+        Component component = Mockito.mock(Component.class);
+        CommandAssertionException ex = new CommandAssertionException(component);
+
+        Mockito.verifyNoInteractions(component);
+        assertSame(component, ex.getComponent().orElseThrow());
+    }
+
+    @Test
+    void testMessage() {
+        assertEquals("Not enough money", new CommandAssertionException(Component.text("Not enough ").append(Component.text("money"))).getMessage());
+        assertEquals("Assertion failed!", new CommandAssertionException(null).getMessage());
+        assertTrue(new CommandAssertionException(null).getComponent().isEmpty());
+        assertEquals("Command failed an assertion!", new CommandAssertionException().getMessage());
+    }
+
+}
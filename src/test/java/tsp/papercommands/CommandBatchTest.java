@@ -0,0 +1,116 @@
+package tsp.papercommands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandMap;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import tsp.papercommands.argument.parser.PlayerIndex;
+import tsp.papercommands.command.CommandBatch;
+import tsp.papercommands.command.PaperCommand;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class CommandBatchTest {
+
+    private final Map<String, Command> known = new HashMap<>();
+    private final AtomicInteger syncs = new AtomicInteger();
+    private MockedStatic<Bukkit> bukkit;
+    private Plugin plugin;
+    private CommandBatch batch;
+
+    @BeforeEach
+    void setUp() {
+        // Attaching a command installs a listener through the plugin manager
+        bukkit = Mockito.mockStatic(Bukkit.class);
+        bukkit.when(Bukkit::getPluginManager).thenReturn(Mockito.mock(PluginManager.class));
+
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getName()).thenReturn("Test");
+
+        // A command map that records labels like SimpleCommandMap and rejects a command named "broken"
+        CommandMap commandMap = Mockito.mock(CommandMap.class);
+        Mockito.when(commandMap.getKnownCommands()).thenReturn(known);
+        Mockito.when(commandMap.register(anyString(), any(Command.class))).thenAnswer(invocation -> {
+            String prefix = invocation.getArgument(0);
+            Command command = invocation.getArgument(1);
+            if (command.getName().equals("broken")) {
+                known.put("broken", command);
+                throw new IllegalArgumentException("Rejected");
+            }
+            for (String label : command.getAliases()) {
+                known.put(label, command);
+                known.put(prefix + ":" + label, command);
+            }
+            known.put(command.getName(), command);
+            known.put(prefix + ":" + command.getName(), command);
+            return true;
+        });
+
+        batch = new CommandBatch(plugin, commandMap, syncs::incrementAndGet);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Attaching also installs the player index, uninstall it so that other tests use Bukkit's lookups
+        PlayerIndex.get().ifPresent(index -> index.onDisable(new PluginDisableEvent(plugin)));
+        bukkit.close();
+    }
+
+    @Test
+    void testRegisterAndUnregister() {
+        batch.add(new PaperCommand("foo") {
+            @Override
+            public List<String> getAliases() {
+                return List.of("f");
+            }
+        }, new PaperCommand("bar"));
+
+        batch.register();
+        batch.register();
+        assertTrue(batch.isRegistered());
+        assertEquals(6, known.size());
+        assertTrue(known.containsKey("test:f"));
+        assertEquals(1, syncs.get(), "Expected a single resync for the batch");
+
+        batch.unregister();
+        assertFalse(batch.isRegistered());
+        assertTrue(known.isEmpty());
+        assertEquals(2, syncs.get());
+    }
+
+    @Test
+    void testFailedRegistrationIsRolledBack() {
+        batch.add(new PaperCommand("foo"), new PaperCommand("broken"), new PaperCommand("bar"));
+
+        assertThrows(IllegalArgumentException.class, batch::register);
+        assertFalse(batch.isRegistered());
+        assertTrue(known.isEmpty(), "Expected commands registered before the failure to be removed");
+        assertEquals(0, syncs.get(), "Expected no resync for a failed batch");
+    }
+
+    @Test
+    void testUnregisterKeepsLabelsTakenOver() {
+        batch.add(new PaperCommand("foo"));
+        batch.register();
+
+        Command other = Mockito.mock(Command.class);
+        known.put("foo", other);
+        batch.unregister();
+        assertEquals(Map.of("foo", other), known);
+    }
+
+}
@@ -0,0 +1,105 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.ArgumentTokens;
+import tsp.papercommands.argument.UnionValue;
+import tsp.papercommands.command.CommandSignature;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandSignatureTest {
+
+    @Test
+    void testCompile() {
+        CommandSignature signature = CommandSignature.compile("<name>  <amount:int> [reason...]");
+        assertEquals(3, signature.size());
+        assertEquals(2, signature.required());
+        assertEquals("<name>  <amount:int> [reason...]", signature.usage());
+
+        CommandSignature.Slot name = signature.slot(0);
+        assertEquals("name", name.name());
+        assertEquals(String.class, name.type(), "Expected untyped slots to be strings");
+        assertFalse(name.optional());
+
+        CommandSignature.Slot reason = signature.slot(2);
+        assertEquals("reason", reason.name());
+        assertTrue(reason.optional());
+        assertTrue(reason.greedy());
+
+        assertEquals(1, signature.indexOf("amount"));
+        assertEquals(-1, signature.indexOf("int"));
+        assertSame(reason, signature.slotAt(5), "Expected positions past a greedy slot to belong to it");
+        assertNull(CommandSignature.compile("<name>").slotAt(1));
+    }
+
+    @Test
+    void testTypeAliases() {
+        assertEquals(Integer.class, CommandSignature.compile("<a:int>").slot(0).type());
+        assertEquals(Integer.class, CommandSignature.compile("<a:integer>").slot(0).type());
+        assertEquals(Boolean.class, CommandSignature.compile("<a:bool>").slot(0).type());
+        assertEquals(UUID.class, CommandSignature.compile("[a:uuid]").slot(0).type());
+        assertEquals(String.class, CommandSignature.compile("name").slot(0).type(), "Expected a bare word to be a required string");
+        assertEquals(1, CommandSignature.compile("name").required());
+    }
+
+    @Test
+    void testInvalidUsage() {
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class, () -> CommandSignature.compile("<a:nope>"));
+        assertTrue(unknown.getMessage().contains("'nope'"), unknown.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> CommandSignature.compile("<a:int|nope>"));
+        assertThrows(IllegalArgumentException.class, () -> CommandSignature.compile("<reason...> <name>"), "Expected greedy slots to be last");
+    }
+
+    @Test
+    void testBindArity() {
+        CommandSignature signature = CommandSignature.compile("<name> <amount:int> [page:int]");
+        assertNull(signature.bind(List.of()));
+        assertNull(signature.bind(List.of("Steve")), "Expected missing required arguments to fail");
+        assertArrayEquals(new Object[]{"Steve", 5, null}, signature.bind(List.of("Steve", "5")));
+        assertArrayEquals(new Object[]{"Steve", 5, 2}, signature.bind(List.of("Steve", "5", "2")));
+        assertArrayEquals(new Object[]{null}, CommandSignature.compile("[page:int]").bind(List.of()));
+    }
+
+    @Test
+    void testBindRejectsInvalidValues() {
+        CommandSignature signature = CommandSignature.compile("<name> <amount:int> [page:int]");
+        assertNull(signature.bind(List.of("Steve", "five")));
+        assertNull(signature.bind(List.of("Steve", "5", "two")), "Expected present optional arguments to be parsed");
+    }
+
+    @Test
+    void testBindGreedy() {
+        CommandSignature signature = CommandSignature.compile("<name> [reason...]");
+        assertArrayEquals(new Object[]{"Steve", "being very rude"}, signature.bind(List.of("Steve", "being", "very", "rude")));
+        assertArrayEquals(new Object[]{"Steve", "being  rude"}, signature.bind(ArgumentTokens.tokenize("Steve being  rude")), "Expected the original spacing");
+        assertArrayEquals(new Object[]{"Steve", null}, signature.bind(List.of("Steve")));
+    }
+
+    @Test
+    void testBindGreedyQuotes() {
+        CommandSignature greedy = CommandSignature.compile("<name> [reason...]");
+        CommandSignature single = CommandSignature.compile("<name> <reason>");
+        ArgumentTokens quoted = ArgumentTokens.tokenize("Steve \"being rude\"");
+
+        assertArrayEquals(new Object[]{"Steve", "being rude"}, single.bind(quoted));
+        assertArrayEquals(new Object[]{"Steve", "being rude"}, greedy.bind(quoted), "Expected a single quoted argument to be unquoted");
+        assertArrayEquals(new Object[]{"Steve", "\"very\" rude"}, greedy.bind(ArgumentTokens.tokenize("Steve \"very\" rude")), "Expected quotes inside the rest of the line to be kept");
+        assertArrayEquals(new Object[]{"Steve", "say \"hi\""}, greedy.bind(ArgumentTokens.tokenize("Steve \"say \\\"hi\\\"\"")), "Expected escapes to be resolved");
+    }
+
+    @Test
+    void testBindUnion() {
+        CommandSignature signature = CommandSignature.compile("<target:uuid|int>");
+        assertEquals(UnionValue.class, signature.slot(0).type());
+
+        UnionValue number = (UnionValue) signature.bind(List.of("42"))[0];
+        assertEquals(42, number.<Integer>get());
+        UnionValue id = (UnionValue) signature.bind(List.of("069a79f4-44e9-4726-a5be-fca90e38aaf5"))[0];
+        assertTrue(id.is(UUID.class));
+        assertNull(signature.bind(List.of("Steve")));
+    }
+
+}
@@ -0,0 +1,80 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.cooldown.Cooldown;
+import tsp.papercommands.cooldown.CooldownTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooldownTrackerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final CooldownTracker tracker = new CooldownTracker(clock::get);
+
+    @Test
+    void testAcquireWhileRunning() {
+        UUID id = UUID.randomUUID();
+        assertEquals(0, tracker.acquire(id, 5_000), "Expected the cooldown to start");
+
+        clock.addAndGet(2_000);
+        assertEquals(3_000, tracker.acquire(id, 5_000), "Expected the remaining time of the running cooldown");
+        assertEquals(3_000, tracker.remaining(id));
+
+        clock.addAndGet(3_000);
+        assertEquals(0, tracker.remaining(id));
+        assertEquals(0, tracker.acquire(id, 5_000), "Expected the cooldown to restart after expiring");
+    }
+
+    @Test
+    void testExpiredEntriesAreEvicted() {
+        Random random = new Random(42);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            ids.add(id);
+            assertEquals(0, tracker.acquire(id, 1_000 + random.nextInt(600_000)));
+        }
+        assertEquals(5_000, tracker.size());
+
+        // Longer than the wheel's rotation, every entry must be swept
+        clock.addAndGet(602_000);
+        assertEquals(0, tracker.size(), "Expected expired cooldowns to be removed");
+        for (UUID id : ids) {
+            assertEquals(0, tracker.remaining(id));
+        }
+    }
+
+    @Test
+    void testReset() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            tracker.acquire(id, 60_000);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(tracker.reset(ids.get(i)));
+        }
+        assertFalse(tracker.reset(ids.get(0)), "Expected no running cooldown after a reset");
+        assertEquals(50, tracker.size());
+        for (int i = 50; i < 100; i++) {
+            assertEquals(60_000, tracker.remaining(ids.get(i)), "Expected other cooldowns to survive removals");
+        }
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals("0.1s", Cooldown.format(50));
+        assertEquals("4.3s", Cooldown.format(4_210));
+        assertEquals("2m 30s", Cooldown.format(150_000));
+        assertEquals("1h 5m", Cooldown.format(3_900_000));
+    }
+
+}
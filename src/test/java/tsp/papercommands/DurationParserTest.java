@@ -0,0 +1,53 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.parser.DurationParser;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurationParserTest {
+
+    @Test
+    void testCompactSyntax() {
+        assertEquals(Duration.ofHours(26).plusMinutes(30), DurationParser.parse("1d2h30m"));
+        assertEquals(Duration.ofDays(17), DurationParser.parse("2 weeks, 3 days"));
+        assertEquals(Duration.ofSeconds(90), DurationParser.parse("90"));
+        assertEquals(Duration.ofHours(1), DurationParser.parse("1Hour"));
+    }
+
+    @Test
+    void testMonthsAndMinutesAreDistinct() {
+        assertEquals(Duration.ofMinutes(1), DurationParser.parse("1m"));
+        assertEquals(Duration.ofSeconds(2_629_746), DurationParser.parse("1mo"));
+    }
+
+    @Test
+    void testInvalidInput() {
+        assertTrue(DurationParser.parseSafely("").isEmpty());
+        assertTrue(DurationParser.parseSafely("0s").isEmpty(), "Expected zero duration to fail");
+        assertTrue(DurationParser.parseSafely("1x").isEmpty());
+        assertTrue(DurationParser.parseSafely("99999999999999999999d").isEmpty(), "Expected overflow to fail");
+        assertThrows(IllegalArgumentException.class, () -> DurationParser.parse("abc"));
+    }
+
+    @Test
+    void testFormatRoundTrip() {
+        assertEquals("1d2h30m", DurationParser.format(Duration.ofHours(26).plusMinutes(30)));
+        assertEquals("1s", DurationParser.format(Duration.ofMillis(1_500)));
+
+        for (Duration duration : new Duration[]{Duration.ofSeconds(1), Duration.ofSeconds(59), Duration.ofDays(400).plusSeconds(7), DurationParser.parse("1y")}) {
+            assertEquals(duration, DurationParser.parse(DurationParser.format(duration)));
+        }
+        assertEquals(Duration.ofSeconds(1), DurationParser.parse(DurationParser.format(Duration.ofMillis(1_999))), "Expected fractions to be truncated");
+    }
+
+    @Test
+    void testFormatRejectsWhatParseRejects() {
+        assertThrows(IllegalArgumentException.class, () -> DurationParser.format(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> DurationParser.format(Duration.ofMillis(500)));
+        assertThrows(IllegalArgumentException.class, () -> DurationParser.format(Duration.ofDays(-1)));
+    }
+
+}
@@ -0,0 +1,182 @@
+package tsp.papercommands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import tsp.papercommands.argument.parser.EntitySelector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class EntitySelectorTest {
+
+    private World world;
+    private Player sender;
+
+    @BeforeEach
+    void setUp() {
+        world = Mockito.mock(World.class);
+        sender = Mockito.mock(Player.class);
+        Mockito.when(sender.getWorld()).thenReturn(world);
+        Mockito.when(sender.getLocation()).thenAnswer(invocation -> new Location(world, 0, 64, 0));
+    }
+
+    @Test
+    void testVariables() {
+        assertTrue(EntitySelector.compile("@a").isPlayersOnly());
+        assertFalse(EntitySelector.compile("@a").isSingle());
+        assertTrue(EntitySelector.compile("@p").isSingle());
+        assertTrue(EntitySelector.compile("@r").isSingle());
+        assertTrue(EntitySelector.compile("@s").isSingle());
+        assertFalse(EntitySelector.compile("@e").isPlayersOnly());
+    }
+
+    @Test
+    void testOptions() {
+        EntitySelector selector = EntitySelector.compile("@e[distance=..10,limit=5,sort=nearest,tag=boss,tag=!dead,name=\"Bob\"]");
+        assertFalse(selector.isSingle());
+        assertEquals("@e[distance=..10,limit=5,sort=nearest,tag=boss,tag=!dead,name=\"Bob\"]", selector.toString());
+
+        assertTrue(EntitySelector.compile("@e[limit=1,x=0,y=64,z=0,dx=10,dy=5,dz=10]").isSingle());
+        assertTrue(EntitySelector.compile("@a[level=10..,gamemode=!spectator]").isPlayersOnly());
+    }
+
+    @Test
+    void testNames() {
+        assertTrue(EntitySelector.compile("Notch").isPlayersOnly());
+        assertTrue(EntitySelector.compile("Notch").isSingle());
+        assertFalse(EntitySelector.compile("069a79f4-44e9-4726-a5be-fca90e38aaf5").isPlayersOnly());
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> EntitySelector.compile("@x"));
+        assertThrows(IllegalArgumentException.class, () -> EntitySelector.compile("@e[distance=..10"));
+        assertThrows(IllegalArgumentException.class, () -> EntitySelector.compile("@e[distance=-1]"));
+        assertThrows(IllegalArgumentException.class, () -> EntitySelector.compile("@e[distance=10..5]"));
+        assertThrows(IllegalArgumentException.class, () -> EntitySelector.compile("@e[limit=0]"));
+        assertThrows(IllegalArgumentException.class, () -> EntitySelector.compile("@s[limit=2]"));
+        assertThrows(IllegalArgumentException.class, () -> EntitySelector.compile("@e[sort=sideways]"));
+        assertThrows(IllegalArgumentException.class, () -> EntitySelector.compile("@e[scores={kills=1}]"));
+        assertThrows(IllegalArgumentException.class, () -> EntitySelector.compile("@e[limit=1, sort=nearest]"));
+    }
+
+    @Test
+    void testParserCachesPlans() {
+        assertSame(EntitySelector.parser().parse("@e[limit=3]").orElseThrow(), EntitySelector.parser().parse("@e[limit=3]").orElseThrow());
+        assertTrue(EntitySelector.parser().parse("@e[limit=0]").isEmpty());
+        assertTrue(EntitySelector.parser().parse("").isEmpty());
+    }
+
+    @Test
+    void testBoundedSelectionOnlyVisitsNearbyEntities() {
+        // Arrange: candidates of the distance box, one of them in a corner of the box but out of range
+        Entity near = entity(2, 0);
+        Entity far = entity(8, 0);
+        Entity corner = entity(9, 9);
+        Mockito.when(world.getNearbyEntities(any(BoundingBox.class), any())).thenReturn(List.of(far, corner, near));
+
+        // Act
+        List<Entity> selected = EntitySelector.compile("@e[distance=..10,sort=nearest]").select(sender);
+
+        // Assert: only the box was queried and the distance filtered its corners
+        assertEquals(List.of(near, far), selected);
+        Mockito.verify(world).getNearbyEntities(any(BoundingBox.class), any());
+        Mockito.verify(world, Mockito.never()).getEntities();
+    }
+
+    @Test
+    void testUnboundedSelectionScansEveryWorld() {
+        // Arrange: players in two worlds
+        World other = Mockito.mock(World.class);
+        Player vip = Mockito.mock(Player.class);
+        Player guest = Mockito.mock(Player.class);
+        Player remote = Mockito.mock(Player.class);
+        Mockito.when(vip.getScoreboardTags()).thenReturn(Set.of("vip"));
+        Mockito.when(guest.getScoreboardTags()).thenReturn(Set.of());
+        Mockito.when(remote.getScoreboardTags()).thenReturn(Set.of("vip"));
+        Mockito.when(world.getPlayers()).thenReturn(List.of(vip, guest));
+        Mockito.when(other.getPlayers()).thenReturn(List.of(remote));
+
+        try (MockedStatic<Bukkit> bukkit = Mockito.mockStatic(Bukkit.class)) {
+            bukkit.when(Bukkit::getWorlds).thenReturn(List.of(world, other));
+
+            // Act
+            List<Entity> selected = EntitySelector.compile("@a[tag=vip]").select(sender);
+
+            // Assert: only player lists were scanned
+            assertEquals(List.of(vip, remote), selected);
+            Mockito.verify(world, Mockito.never()).getEntities();
+            Mockito.verify(world, Mockito.never()).getNearbyEntities(any(BoundingBox.class), any());
+        }
+    }
+
+    @Test
+    void testFiltersRunCheapestFirst() {
+        // Arrange: an entity without the tag and one matching every filter
+        Entity untagged = entity(1, 0);
+        Entity boss = entity(2, 0, "boss");
+        Mockito.when(boss.getName()).thenReturn("Bob");
+        Mockito.when(world.getEntities()).thenReturn(List.of(untagged, boss));
+
+        // Act
+        List<Entity> selected = EntitySelector.compile("@e[x=0,name=Bob,tag=boss,tag=!dead]").select(sender);
+
+        // Assert: the name is never read once the cheaper tag filter failed
+        assertEquals(List.of(boss), selected);
+        Mockito.verify(untagged, Mockito.never()).getName();
+    }
+
+    @Test
+    void testSortAndLimit() {
+        // Arrange: entities at different distances
+        Entity one = entity(1, 0);
+        Entity five = entity(5, 0);
+        Entity three = entity(3, 0);
+        Mockito.when(world.getEntities()).thenReturn(List.of(one, five, three));
+
+        // Act & Assert
+        assertEquals(List.of(five, three), EntitySelector.compile("@e[x=0,sort=furthest,limit=2]").select(sender));
+        assertEquals(List.of(one), EntitySelector.compile("@e[x=0,sort=nearest,limit=1]").select(sender));
+        assertEquals(List.of(one, five, three), EntitySelector.compile("@e[x=0]").select(sender));
+    }
+
+    @Test
+    void testArbitraryOrderStopsAtLimit() {
+        // Arrange: more matching entities than the limit
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entities.add(entity(i, 0, "boss"));
+        }
+        Mockito.when(world.getEntities()).thenReturn(entities);
+
+        // Act
+        List<Entity> selected = EntitySelector.compile("@e[x=0,tag=boss,limit=2]").select(sender);
+
+        // Assert: the entities after the limit were never evaluated
+        assertEquals(entities.subList(0, 2), selected);
+        for (Entity entity : entities.subList(2, 5)) {
+            Mockito.verify(entity, Mockito.never()).getScoreboardTags();
+        }
+    }
+
+    private Entity entity(double x, double z, String... tags) {
+        Entity entity = Mockito.mock(Entity.class);
+        Mockito.when(entity.getWorld()).thenReturn(world);
+        Mockito.when(entity.getLocation()).thenAnswer(invocation -> new Location(world, x, 64, z));
+        Mockito.when(entity.getScoreboardTags()).thenReturn(Set.of(tags));
+        return entity;
+    }
+
+}
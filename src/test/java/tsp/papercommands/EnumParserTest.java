@@ -0,0 +1,38 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.parser.EnumParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnumParserTest {
+
+    private final EnumParser<TimeUnit> parser = EnumParser.of(TimeUnit.class, Map.of("sec", TimeUnit.SECONDS));
+
+    @Test
+    void testCaseInsensitiveNames() {
+        assertEquals(Optional.of(TimeUnit.SECONDS), parser.parse("seconds"));
+        assertEquals(Optional.of(TimeUnit.SECONDS), parser.parse("SeCoNdS"));
+        assertEquals(Optional.of(TimeUnit.SECONDS), parser.parse("SEC"), "Expected alias to match");
+    }
+
+    @Test
+    void testUniquePrefix() {
+        assertEquals(Optional.of(TimeUnit.HOURS), parser.parse("ho"));
+        assertTrue(parser.parse("m").isEmpty(), "Expected ambiguous prefix to fail");
+        assertTrue(parser.parse("").isEmpty());
+        assertTrue(parser.parse("weeks").isEmpty());
+    }
+
+    @Test
+    void testSuggestions() {
+        assertEquals(List.of("microseconds", "milliseconds", "minutes"), parser.suggest("M"));
+        assertEquals(List.of(), parser.suggest("x"));
+    }
+
+}
@@ -0,0 +1,78 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testEmpty() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.count());
+        assertEquals(0, snapshot.p99());
+        assertEquals(0, snapshot.max());
+    }
+
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.count());
+        assertEquals(500_500, snapshot.mean());
+        assertEquals(1_000_000, snapshot.max());
+        assertWithin(500_000, snapshot.p50());
+        assertWithin(900_000, snapshot.p90());
+        assertWithin(990_000, snapshot.p99());
+        assertTrue(snapshot.p99() <= snapshot.max());
+    }
+
+    @Test
+    void testSmallAndHugeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(3);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(3, snapshot.count());
+        assertEquals(3, snapshot.p50());
+        assertEquals(Long.MAX_VALUE, snapshot.max());
+        assertEquals(Long.MAX_VALUE, snapshot.p99());
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.snapshot().count());
+        assertEquals(9_999, histogram.snapshot().max());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().count());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 8, "Expected " + actual + " to be within 12.5% of " + expected);
+    }
+
+}
@@ -0,0 +1,45 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.parser.LocaleNumberParser;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocaleNumberParserTest {
+
+    private final LocaleNumberParser english = LocaleNumberParser.forLocale(Locale.US);
+    private final LocaleNumberParser german = LocaleNumberParser.forLocale(Locale.GERMANY);
+
+    @Test
+    void testGroupingAndDecimals() {
+        assertEquals(1000L, english.parseValue("1,000"));
+        assertEquals(-2.5, english.parseValue("-2.5"));
+        assertEquals(1000.5, german.parseValue("1.000,5"));
+        assertEquals(Long.MAX_VALUE, english.parseValue("9223372036854775807"));
+        assertEquals(Long.MIN_VALUE, english.parseValue("-9223372036854775808"));
+        assertEquals(Long.MIN_VALUE, english.parse("-9,223,372,036,854,775,808").orElseThrow());
+        assertInstanceOf(Double.class, english.parseValue("9223372036854775808"));
+    }
+
+    @Test
+    void testSuffixes() {
+        assertEquals(1500L, english.parseValue("1.5k"));
+        assertEquals(2_000_000L, english.parseValue("2m"));
+        assertEquals(3_000_000_000L, english.parseValue("3B"));
+        assertEquals(1500L, german.parseValue("1,5k"));
+        assertEquals(0.1, english.parseValue("0.0001k"));
+    }
+
+    @Test
+    void testRejectsMalformedInput() {
+        assertNull(english.parseValue(""));
+        assertNull(english.parseValue("k"));
+        assertNull(english.parseValue("1,,0"));
+        assertNull(english.parseValue("1,"));
+        assertNull(english.parseValue("12abc"));
+        assertTrue(english.parse("1.2.3").isEmpty());
+    }
+
+}
@@ -0,0 +1,51 @@
+package tsp.papercommands;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.message.MessageTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageTemplateTest {
+
+    @Test
+    void testStaticTemplateIsReused() {
+        Component message = Component.text("No permission!", NamedTextColor.RED);
+        MessageTemplate template = MessageTemplate.compile(message);
+        assertTrue(template.slots().isEmpty());
+        assertSame(message, template.render(Map.of("usage", "/test")));
+    }
+
+    @Test
+    void testStringSlots() {
+        MessageTemplate template = MessageTemplate.compile(Component.text("Usage: ", NamedTextColor.GRAY)
+                .append(Component.text("{usage} ({label})", NamedTextColor.RED)));
+        assertEquals(List.of("usage", "label"), template.slots());
+
+        Component expected = Component.text("Usage: ", NamedTextColor.GRAY)
+                .append(Component.text("/test <name> (test)", NamedTextColor.RED));
+        assertEquals(expected, template.render(Map.of("usage", "/test <name>", "label", "test")));
+    }
+
+    @Test
+    void testMissingAndInvalidPlaceholders() {
+        MessageTemplate template = MessageTemplate.compile(Component.text("{a} {b} { } {} {c"));
+        assertEquals(List.of("a", "b"), template.slots());
+        assertEquals(Component.text("1 {b} { } {} {c"), template.render("a", 1));
+    }
+
+    @Test
+    void testComponentSlot() {
+        MessageTemplate template = MessageTemplate.compile(Component.text("Hello {name}!", NamedTextColor.GREEN));
+        Component name = Component.text("Silent", NamedTextColor.GOLD);
+
+        Component expected = Component.text("", NamedTextColor.GREEN)
+                .children(List.of(Component.text("Hello "), name, Component.text("!")));
+        assertEquals(expected, template.render("name", name));
+    }
+
+}
@@ -0,0 +1,53 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.parser.NumbersParser;
+
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumbersParserTest {
+
+    @Test
+    void testIntBounds() {
+        assertEquals(OptionalInt.of(Integer.MAX_VALUE), NumbersParser.parseIntValue("2147483647"));
+        assertEquals(OptionalInt.of(Integer.MIN_VALUE), NumbersParser.parseIntValue("-2147483648"));
+        assertTrue(NumbersParser.parseIntValue("2147483648").isEmpty(), "Expected overflow to fail");
+        assertTrue(NumbersParser.parseIntValue("-2147483649").isEmpty(), "Expected underflow to fail");
+    }
+
+    @Test
+    void testIntRejectsGarbage() {
+        assertTrue(NumbersParser.parseIntValue("").isEmpty());
+        assertTrue(NumbersParser.parseIntValue("-").isEmpty());
+        assertTrue(NumbersParser.parseIntValue("12a").isEmpty());
+        assertTrue(NumbersParser.parseIntValue(" 1").isEmpty());
+        assertEquals(OptionalInt.of(5), NumbersParser.parseIntValue("+5"));
+    }
+
+    @Test
+    void testLongBounds() {
+        assertEquals(Long.MAX_VALUE, NumbersParser.parseLongValue("9223372036854775807").orElseThrow());
+        assertEquals(Long.MIN_VALUE, NumbersParser.parseLongValue("-9223372036854775808").orElseThrow());
+        assertTrue(NumbersParser.parseLongValue("9223372036854775808").isEmpty(), "Expected overflow to fail");
+    }
+
+    @Test
+    void testDoubleGrammar() {
+        assertEquals(1.5, NumbersParser.parseDoubleValue("1.5").orElseThrow());
+        assertEquals(-0.5, NumbersParser.parseDoubleValue("-.5").orElseThrow());
+        assertEquals(100.0, NumbersParser.parseDoubleValue("1E+2").orElseThrow());
+        assertTrue(NumbersParser.parseDoubleValue(".").isEmpty());
+        assertTrue(NumbersParser.parseDoubleValue("1e").isEmpty());
+        assertTrue(NumbersParser.parseDoubleValue("NaN").isEmpty());
+        assertTrue(NumbersParser.parseDoubleValue("1.2.3").isEmpty());
+    }
+
+    @Test
+    void testByteRange() {
+        assertEquals((byte) 127, NumbersParser.parseByte("127").orElseThrow());
+        assertTrue(NumbersParser.parseByte("128").isEmpty());
+    }
+
+}
@@ -0,0 +1,117 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.parser.NameCache;
+import tsp.papercommands.argument.parser.OfflinePlayerResolver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfflinePlayerResolverTest {
+
+    private static final UUID NOTCH = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID JEB = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    private final AtomicLong clock = new AtomicLong();
+    private final NameCache cache = new NameCache(2, Duration.ofSeconds(10), Duration.ofSeconds(1), clock::get);
+
+    @Test
+    void testCacheExpiry() {
+        cache.put("Notch", NOTCH);
+        cache.put("typo", null);
+        assertEquals(NOTCH, cache.get("NOTCH").id());
+        assertEquals("Notch", cache.name(NOTCH));
+        assertNotNull(cache.get("typo"), "Expected unknown name to be cached");
+        assertNull(cache.get("typo").id());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.get("typo"), "Expected negative entry to expire first");
+        assertNotNull(cache.get("notch"));
+
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertNull(cache.get("notch"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testCacheEvictsLeastRecentlyUsed() {
+        cache.put("Notch", NOTCH);
+        cache.put("jeb_", JEB);
+        cache.get("notch");
+        cache.put("Dinnerbone", null);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("jeb_"));
+        assertNull(cache.name(JEB));
+        assertNotNull(cache.get("notch"));
+    }
+
+    @Test
+    void testResolveOrder() {
+        AtomicInteger remoteCalls = new AtomicInteger();
+        OfflinePlayerResolver resolver = new OfflinePlayerResolver(
+                name -> {
+                    remoteCalls.incrementAndGet();
+                    return CompletableFuture.completedFuture(name.equalsIgnoreCase("notch") ? Optional.of(NOTCH) : Optional.empty());
+                },
+                name -> name.equals("jeb_") ? JEB : null,
+                cache);
+
+        assertEquals(Optional.of(JEB), resolver.resolveId("jeb_").join(), "Expected local lookup");
+        assertEquals(Optional.of(NOTCH), resolver.resolveId(NOTCH.toString()).join(), "Expected UUID input to be parsed");
+        assertEquals(0, remoteCalls.get());
+
+        assertTrue(resolver.cachedId("Notch").isEmpty(), "Expected cache miss before the remote lookup");
+        assertEquals(Optional.of(NOTCH), resolver.resolveId("Notch").join());
+        assertEquals(Optional.of(Optional.of(NOTCH)), resolver.cachedId("notch"));
+        assertEquals(Optional.empty(), resolver.resolveId("nobody").join());
+        assertEquals(Optional.of(Optional.empty()), resolver.cachedId("nobody"), "Expected unknown name to be cached");
+
+        resolver.resolveId("NOTCH").join();
+        resolver.resolveId("nobody").join();
+        assertEquals(2, remoteCalls.get());
+    }
+
+    @Test
+    void testConcurrentLookupsShareRequest() {
+        AtomicInteger remoteCalls = new AtomicInteger();
+        CompletableFuture<Optional<UUID>> response = new CompletableFuture<>();
+        OfflinePlayerResolver resolver = new OfflinePlayerResolver(name -> {
+            remoteCalls.incrementAndGet();
+            return response;
+        }, Map.<String, UUID>of()::get, cache);
+
+        CompletableFuture<Optional<UUID>> first = resolver.resolveId("Notch");
+        CompletableFuture<Optional<UUID>> second = resolver.resolveId("notch");
+        assertSame(first, second);
+        assertFalse(first.isDone());
+
+        response.complete(Optional.of(NOTCH));
+        assertEquals(Optional.of(NOTCH), second.join());
+        assertEquals(1, remoteCalls.get());
+    }
+
+    @Test
+    void testFailedLookupIsNotShared() {
+        AtomicInteger remoteCalls = new AtomicInteger();
+        OfflinePlayerResolver resolver = new OfflinePlayerResolver(name -> {
+            if (remoteCalls.incrementAndGet() == 1) {
+                throw new IllegalStateException("Remote unavailable");
+            }
+            return CompletableFuture.completedFuture(Optional.of(NOTCH));
+        }, Map.<String, UUID>of()::get, cache);
+
+        CompletableFuture<Optional<UUID>> failed = resolver.resolveId("Notch");
+        assertTrue(failed.isCompletedExceptionally(), "Expected a synchronous failure to complete the future");
+        assertEquals(Optional.of(NOTCH), resolver.resolveId("Notch").join(), "Expected a retry after the failure");
+        assertEquals(2, remoteCalls.get());
+    }
+
+}
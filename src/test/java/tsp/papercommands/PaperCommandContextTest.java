@@ -1,14 +1,22 @@
 package tsp.papercommands;
 
+import net.kyori.adventure.text.Component;
 import org.bukkit.command.CommandSender;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import tsp.papercommands.argument.ArgumentResult;
+import tsp.papercommands.argument.parser.ArgumentParsers;
 import tsp.papercommands.command.Command;
+import tsp.papercommands.command.CommandAssertionException;
+import tsp.papercommands.command.CommandOptions;
 import tsp.papercommands.command.PaperCommandContext;
 
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -143,4 +151,231 @@ class PaperCommandContextTest {
         // Assert: accessing out-of-bounds arguments
         assertFalse(context.rawArg(2).isPresent(), "Expected no argument at index 2");
     }
+
+    @Test
+    void testValuedAndCombinedOptions() {
+        // Arrange: declared flags and a valued option
+        Mockito.when(mockCommand.getOptions()).thenReturn(CommandOptions.builder()
+                .flag("all", 'a')
+                .flag("silent", 's')
+                .option("radius", 'r', Integer.class)
+                .option("mask", String.class)
+                .build());
+        String[] args = {"sphere", "-as", "-r", "10", "--mask=stone", "glass"};
+
+        // Act: create the context
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, args);
+
+        // Assert: combined flags and values are extracted
+        assertTrue(context.hasOption("all"), "Expected 'all' from combined flags");
+        assertTrue(context.hasOption("silent"), "Expected 'silent' from combined flags");
+        assertEquals(Optional.of(10), context.option("radius"));
+        assertEquals(Optional.of("stone"), context.optionValue("mask"));
+        assertEquals(Set.of("all", "silent", "radius", "mask"), context.options());
+
+        // Assert: option values are not arguments
+        assertEquals(List.of("sphere", "glass"), context.rawArgs());
+    }
+
+    @Test
+    void testExtractedOptionsAreDeclared() {
+        // Arrange: options extracted by a caller, such as a subcommand fallback
+        Mockito.when(mockCommand.getOptions()).thenReturn(CommandOptions.builder().flag("silent", 's').build());
+
+        // Act: create the context with the options
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, new String[]{"sphere"}, Set.of("silent", "other"));
+
+        // Assert: declared and undeclared options are both present
+        assertTrue(context.hasOption("silent"), "Expected a declared option passed in to be present");
+        assertTrue(context.hasOption("SILENT"));
+        assertTrue(context.hasOption("other"));
+        assertFalse(context.hasOption("all"));
+    }
+
+    @Test
+    void testAttachedShortValue() {
+        // Arrange: a short valued option with its value attached
+        Mockito.when(mockCommand.getOptions()).thenReturn(CommandOptions.builder().option("radius", 'r', Integer.class).build());
+
+        // Act: create the context
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, new String[]{"-r25", "--radius-unknown"});
+
+        // Assert: the value is parsed and the undeclared option is kept as a flag
+        assertEquals(Optional.of(25), context.option("radius", Integer.class));
+        assertTrue(context.hasOption("radius-unknown"), "Expected undeclared option");
+        assertTrue(context.rawArgs().isEmpty(), "Expected no arguments");
+    }
+
+    @Test
+    void testTerminatorAndNegativeNumbers() {
+        // Arrange: a negative number and options after the terminator
+        String[] args = {"-5", "-.5", "-override", "--", "-silent", "--"};
+
+        // Act: create the context
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, args);
+
+        // Assert: only the option before the terminator is extracted
+        assertEquals(Set.of("override"), context.options());
+        assertEquals(List.of("-5", "-.5", "-silent", "--"), context.rawArgs());
+    }
+
+    @Test
+    void testUndeclaredValuedOption() {
+        // Act: create the context with an undeclared option carrying a value
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, new String[]{"-amount=3", "target"});
+
+        // Assert: the value is available and parsed on demand
+        assertTrue(context.hasOption("amount"), "Expected 'amount' option");
+        assertEquals(Optional.of(3), context.option("amount", Integer.class));
+        assertFalse(context.optionValue("missing").isPresent(), "Expected no value for a missing option");
+        assertEquals(List.of("target"), context.rawArgs());
+    }
+
+    @Test
+    void testSliceSharesOptions() {
+        // Arrange: a subcommand with an option
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, new String[]{"give", "-silent", "Steve", "10"});
+
+        // Act: slice past the subcommand
+        PaperCommandContext<CommandSender> sub = context.slice(1);
+
+        // Assert: the remaining arguments with the same options
+        assertEquals(List.of("Steve", "10"), sub.rawArgs());
+        assertTrue(sub.hasOption("silent"), "Expected options to be shared");
+    }
+
+    @Test
+    void testQuotedArguments() {
+        // Arrange: arguments as split by the server, with a quoted reason and escapes
+        String[] args = {"Steve", "\"a", "multi", "", "word", "reason\"", "'it\\'s'", "\"-silent\""};
+
+        // Act: create the context
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, args);
+
+        // Assert: quoted arguments keep their spacing, escapes are resolved and quoted options are arguments
+        assertEquals(List.of("Steve", "a multi  word reason", "it's", "-silent"), context.rawArgs());
+        assertTrue(context.options().isEmpty(), "Expected quoted options to be arguments");
+        assertEquals("a multi  word reason", context.argView(1).map(CharSequence::toString).orElse(null));
+        assertFalse(context.argView(4).isPresent(), "Expected no argument at index 4");
+    }
+
+    @Test
+    void testGreedyKeepsOriginalText() {
+        // Arrange: a free-text message with irregular spacing
+        String[] args = {"Steve", "hello", "", "\"world\"", "-silent"};
+
+        // Act: create the context
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, args);
+
+        // Assert: the text is returned as typed, without the trailing option
+        assertEquals("hello  \"world\"", context.greedy(1).toString());
+        assertEquals("", context.greedy(5).toString());
+        assertTrue(context.hasOption("silent"), "Expected 'silent' option");
+    }
+
+    @Test
+    void testUnterminatedQuoteIsLiteral() {
+        // Act: create the context with a quote that is never closed
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, new String[]{"\"hello", "world"});
+
+        // Assert: the arguments are read as typed
+        assertEquals(List.of("\"hello", "world"), context.rawArgs());
+    }
+
+    @Test
+    void testArgumentInstancesAreCached() {
+        // Arrange: raw arguments
+        String[] args = {"minecraft:max_health"};
+
+        // Act: create the context
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, args);
+
+        // Assert: the same argument instance is returned for an index
+        assertSame(context.arg(0), context.arg(0), "Expected cached argument instance");
+        assertSame(context.arg(0), context.args()[0], "Expected args() to reuse cached instances");
+    }
+
+    @Test
+    void testParseResultsAreMemoized() {
+        // Arrange: a parser that counts its invocations, registered for a type private to this test
+        AtomicInteger calls = new AtomicInteger();
+        ArgumentParsers.INSTANCE.register(Counted.class, s -> {
+            calls.incrementAndGet();
+            return s.equals("counted") ? Optional.of(new Counted()) : Optional.empty();
+        });
+        try {
+            PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, new String[]{"counted", "other"});
+
+            // Act: check, then validate the same argument
+            assertTrue(context.isArgument(0, Counted.class));
+            assertNotNull(context.validateArgument(0, Counted.class));
+
+            // Act: check a failing argument twice
+            assertFalse(context.isArgument(1, Counted.class));
+            assertFalse(context.isArgument(1, Counted.class));
+
+            // Assert: each argument was parsed once
+            assertEquals(2, calls.get(), "Expected each argument to be parsed once");
+        } finally {
+            ArgumentParsers.INSTANCE.unregister(Counted.class);
+        }
+        assertTrue(ArgumentParsers.INSTANCE.find(Counted.class).isEmpty(), "Expected the test parser to be removed");
+    }
+
+    @Test
+    void testSupertypeParserIsCheckedForConcreteTypes() {
+        // Arrange: Short has no parser of its own, only the Number parser
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, new String[]{"12"});
+
+        // Assert: the Number parser's Long is not accepted as a Short, while Number itself still parses
+        assertFalse(context.isArgument(0, Short.class), "Expected a supertype value of another class to be rejected");
+        assertTrue(context.isArgument(0, Number.class));
+        assertThrows(NoSuchElementException.class, () -> ArgumentParsers.INSTANCE.find(Short.class).orElseThrow().parse("12").orElseThrow());
+    }
+
+    private static final class Counted {}
+
+    @Test
+    void testCheckArgumentDoesNotThrow() {
+        // Arrange: a valid, an invalid and a missing argument
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, new String[]{"5", "five"});
+
+        // Act
+        ArgumentResult<Integer> valid = context.checkArgument(0, Integer.class);
+        ArgumentResult<Integer> invalid = context.checkArgument(1, Integer.class);
+        ArgumentResult<Integer> missing = context.checkArgument(2, Integer.class);
+
+        // Assert: results describe the failure instead of throwing or replying
+        assertTrue(valid.isSuccess());
+        assertEquals(5, valid.get());
+        assertEquals(Optional.of("5"), valid.raw());
+
+        assertTrue(invalid.isFailure());
+        assertEquals(1, invalid.index());
+        assertEquals(Optional.of("five"), invalid.raw());
+        assertEquals(3, invalid.orElse(3));
+        assertTrue(invalid.toOptional().isEmpty());
+        assertThrows(NoSuchElementException.class, invalid::get);
+
+        assertTrue(missing.isFailure());
+        assertTrue(missing.raw().isEmpty());
+        assertFalse(context.isArgument(1, Integer.class));
+        Mockito.verifyNoInteractions(mockSender);
+    }
+
+    @Test
+    void testFailedAssertionsAreStackless() {
+        PaperCommandContext<CommandSender> context = new PaperCommandContext<>(mockSender, mockCommand, new String[]{"five"});
+        Component message = Component.text("Not a number");
+
+        CommandAssertionException assertion = assertThrows(CommandAssertionException.class, () -> context.assertion(false, message));
+        assertEquals(0, assertion.getStackTrace().length);
+        assertSame(message, assertion.getComponent().orElseThrow());
+        Mockito.verify(mockSender).sendMessage(message);
+
+        CommandAssertionException validation = assertThrows(CommandAssertionException.class, () -> context.validateArgument(0, Integer.class));
+        assertEquals(0, validation.getStackTrace().length);
+        assertSame(context, context.assertion(true, message));
+    }
+
 }
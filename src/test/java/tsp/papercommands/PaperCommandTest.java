@@ -0,0 +1,204 @@
+package tsp.papercommands;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import tsp.papercommands.argument.parser.PlayerIndex;
+import tsp.papercommands.command.CommandAssertionException;
+import tsp.papercommands.command.CommandContext;
+import tsp.papercommands.command.ExecutionMode;
+import tsp.papercommands.command.PaperCommand;
+import tsp.papercommands.command.PaperCommandContext;
+import tsp.papercommands.metrics.CommandMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaperCommandTest {
+
+    private final CommandSender sender = Mockito.mock(CommandSender.class);
+    private final List<Runnable> mainThread = new ArrayList<>();
+    private final List<LogRecord> logged = new ArrayList<>();
+    private MockedStatic<Bukkit> bukkit;
+    private BukkitScheduler scheduler;
+    private Plugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        // Main thread tasks are queued until the test runs them
+        scheduler = Mockito.mock(BukkitScheduler.class);
+        bukkit = Mockito.mockStatic(Bukkit.class);
+        bukkit.when(Bukkit::getPluginManager).thenReturn(Mockito.mock(PluginManager.class));
+        bukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record);
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        });
+        plugin = Mockito.mock(Plugin.class);
+        Mockito.when(plugin.getLogger()).thenReturn(logger);
+        Mockito.when(scheduler.getMainThreadExecutor(plugin)).thenReturn(mainThread::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Attaching also installs the player index, uninstall it so that other tests use Bukkit's lookups
+        PlayerIndex.get().ifPresent(index -> index.onDisable(new PluginDisableEvent(plugin)));
+        bukkit.close();
+    }
+
+    @Test
+    void testTabHandlerOnlyFallsBackForUntypedSlots() {
+        PaperCommand command = new PaperCommand("give", "<amount:int> <name> [time:duration]");
+
+        assertEquals(List.of(), command.complete(sender, new String[]{"5"}, false), "Expected integers not to suggest player names");
+        assertNull(command.complete(sender, new String[]{"5", "St"}, false), "Expected strings to fall back to player names");
+        assertEquals(List.of(), command.complete(sender, new String[]{"5", "Steve", "1"}, false));
+        assertEquals(List.of(), command.complete(sender, new String[]{"5", "Steve", "1h", ""}, false), "Expected nothing past the last slot");
+        assertNull(new PaperCommand("free").complete(sender, new String[]{"St"}, false), "Expected commands without usage to fall back to player names");
+    }
+
+    @Test
+    void testAsyncRunsOffTheCallerThread() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        PaperCommand command = new PaperCommand("async-thread", null, null, null, null, ctx -> thread.set(Thread.currentThread())) {
+            @Override
+            public ExecutionMode getExecutionMode() {
+                return ExecutionMode.ASYNC;
+            }
+        };
+
+        command.execute(sender, "async-thread", new String[0]).join();
+        assertNotNull(thread.get());
+        assertNotSame(Thread.currentThread(), thread.get(), "Expected the handler to run on the async executor");
+    }
+
+    @Test
+    void testJoinedAssertionIsAnAssertionFailure() {
+        // Arrange: an async handler failing an assertion on a direct main thread
+        Mockito.when(scheduler.getMainThreadExecutor(plugin)).thenReturn(Runnable::run);
+        List<CommandAssertionException> failures = new ArrayList<>();
+        PaperCommand command = async("async-assertion", ctx -> ctx.callSync(() -> {
+            throw new CommandAssertionException(Component.text("No!"));
+        }).join(), failures);
+        command.attach(plugin);
+
+        // Act
+        command.execute(sender, "async-assertion", new String[0]);
+
+        // Assert
+        assertEquals(1, failures.size(), "Expected the assertion to be unwrapped from the CompletionException");
+        assertEquals("No!", failures.get(0).getMessage());
+        CommandMetrics.Stats stats = command.getMetrics().stats();
+        assertEquals(1, stats.assertionFailures());
+        assertEquals(0, stats.errors());
+        assertTrue(logged.isEmpty(), "Expected nothing to be logged");
+    }
+
+    @Test
+    void testUnexpectedExceptionIsLogged() {
+        PaperCommand command = async("async-error", ctx -> {
+            throw new IllegalStateException("Broken");
+        }, new ArrayList<>());
+        command.attach(plugin);
+
+        command.execute(sender, "async-error", new String[0]);
+        assertEquals(1, command.getMetrics().stats().errors());
+        assertEquals(1, logged.size());
+        assertEquals(Level.SEVERE, logged.get(0).getLevel());
+    }
+
+    @Test
+    void testReplyHopsToTheMainThread() {
+        PaperCommand command = new PaperCommand("reply");
+        command.attach(plugin);
+        PaperCommandContext<CommandSender> ctx = new PaperCommandContext<>(sender, command, new String[0]);
+        Component message = Component.text("Hello");
+
+        ctx.reply(message);
+        Mockito.verify(sender, Mockito.never()).sendMessage(message);
+        runMainThread();
+        Mockito.verify(sender).sendMessage(message);
+
+        bukkit.when(Bukkit::isPrimaryThread).thenReturn(true);
+        ctx.reply(message);
+        assertTrue(mainThread.isEmpty(), "Expected replies on the main thread to be sent directly");
+        Mockito.verify(sender, Mockito.times(2)).sendMessage(message);
+    }
+
+    @Test
+    void testRunSyncOnTheMainThreadRunsInline() {
+        PaperCommand command = new PaperCommand("sync");
+        command.attach(plugin);
+        PaperCommandContext<CommandSender> ctx = new PaperCommandContext<>(sender, command, new String[0]);
+        List<String> ran = new ArrayList<>();
+
+        ctx.runSync(() -> ran.add("off"));
+        assertTrue(ran.isEmpty());
+        runMainThread();
+        assertEquals(List.of("off"), ran);
+
+        bukkit.when(Bukkit::isPrimaryThread).thenReturn(true);
+        ctx.runSync(() -> ran.add("on"));
+        assertEquals("value", ctx.callSync(() -> "value").getNow(null));
+        assertEquals(List.of("off", "on"), ran);
+        assertTrue(mainThread.isEmpty());
+    }
+
+    /**
+     * An async command running on a direct executor, so that the static Bukkit mock stays visible to the handler.
+     */
+    private static PaperCommand async(String name, Consumer<CommandContext<CommandSender>> handler, List<CommandAssertionException> failures) {
+        return new PaperCommand(name, null, null, null, null, handler) {
+            @Override
+            public ExecutionMode getExecutionMode() {
+                return ExecutionMode.ASYNC;
+            }
+
+            @Override
+            public Executor getAsyncExecutor() {
+                return Runnable::run;
+            }
+
+            @Override
+            public void onAssertionFailure(CommandAssertionException ex) {
+                failures.add(ex);
+            }
+        };
+    }
+
+    private void runMainThread() {
+        while (!mainThread.isEmpty()) {
+            mainThread.remove(0).run();
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package tsp.papercommands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import tsp.papercommands.argument.parser.ArgumentParsers;
+import tsp.papercommands.argument.parser.PlayerIndex;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerIndexTest {
+
+    private final Player notch = player("Notch", UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+    private final Player notchling = player("Notchling", UUID.randomUUID());
+    private final Player jeb = player("jeb_", UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6"));
+    private MockedStatic<Bukkit> bukkit;
+    private Plugin plugin;
+    private PlayerIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bukkit = Mockito.mockStatic(Bukkit.class);
+        bukkit.when(Bukkit::getPluginManager).thenReturn(Mockito.mock(PluginManager.class));
+        bukkit.when(Bukkit::getOnlinePlayers).thenReturn(List.of(notchling, notch));
+
+        plugin = Mockito.mock(Plugin.class);
+        index = PlayerIndex.install(plugin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.onDisable(new PluginDisableEvent(plugin));
+        bukkit.close();
+    }
+
+    @Test
+    void testInstall() {
+        assertSame(index, PlayerIndex.install(Mockito.mock(Plugin.class)), "Expected a single index");
+        assertSame(index, PlayerIndex.get().orElseThrow());
+
+        index.onDisable(new PluginDisableEvent(Mockito.mock(Plugin.class)));
+        assertTrue(PlayerIndex.get().isPresent(), "Expected other plugins not to uninstall the index");
+        index.onDisable(new PluginDisableEvent(plugin));
+        assertTrue(PlayerIndex.get().isEmpty());
+    }
+
+    @Test
+    void testLookups() {
+        assertSame(notch, index.get(notch.getUniqueId()));
+        assertSame(notch, index.getExact("NOTCH"));
+        assertNull(index.getExact("Notc"));
+
+        assertSame(notch, index.match("notch"), "Expected an exact match to win over longer names");
+        assertSame(notch, index.match("Not"), "Expected the shortest name starting with the prefix");
+        assertSame(notchling, index.match("notchl"));
+        assertNull(index.match("x"));
+        assertNull(index.match(""));
+
+        assertEquals(List.of("Notch", "Notchling"), index.suggest("no", 10));
+        assertEquals(List.of("Notch"), index.suggest("NO", 1));
+    }
+
+    @Test
+    void testJoinAndQuit() {
+        index.onJoin(join(jeb));
+        assertSame(jeb, index.match("JEB"));
+        assertEquals(List.of("jeb_"), index.suggest("j", 10));
+
+        index.onQuit(quit(notch));
+        assertNull(index.get(notch.getUniqueId()));
+        assertNull(index.getExact("Notch"));
+        assertSame(notchling, index.match("Notch"), "Expected prefix matching to skip players who quit");
+    }
+
+    @Test
+    void testPlayerParserUsesIndex() {
+        assertSame(notch, ArgumentParsers.INSTANCE.find(Player.class).orElseThrow().parse("069a79f444e94726a5befca90e38aaf5").orElseThrow());
+        assertSame(notchling, ArgumentParsers.INSTANCE.find(Player.class).orElseThrow().parse("notchl").orElseThrow());
+        assertEquals(List.of("Notch", "Notchling"), ArgumentParsers.INSTANCE.find(Player.class).orElseThrow().suggest("n"));
+        bukkit.verify(() -> Bukkit.getPlayer(Mockito.anyString()), Mockito.never());
+    }
+
+    private static Player player(String name, UUID id) {
+        Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getName()).thenReturn(name);
+        Mockito.when(player.getUniqueId()).thenReturn(id);
+        return player;
+    }
+
+    private static PlayerJoinEvent join(Player player) {
+        PlayerJoinEvent event = Mockito.mock(PlayerJoinEvent.class);
+        Mockito.when(event.getPlayer()).thenReturn(player);
+        return event;
+    }
+
+    private static PlayerQuitEvent quit(Player player) {
+        PlayerQuitEvent event = Mockito.mock(PlayerQuitEvent.class);
+        Mockito.when(event.getPlayer()).thenReturn(player);
+        return event;
+    }
+
+}
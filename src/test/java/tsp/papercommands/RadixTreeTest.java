@@ -0,0 +1,56 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.command.tree.RadixTree;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixTreeTest {
+
+    private RadixTree<Integer> tree() {
+        RadixTree<Integer> tree = new RadixTree<>();
+        tree.put("give", 1);
+        tree.put("giveAll", 2);
+        tree.put("gift", 3);
+        tree.put("take", 4);
+        tree.put("g", 5);
+        return tree;
+    }
+
+    @Test
+    void testExactLookupIgnoresCase() {
+        RadixTree<Integer> tree = tree();
+        assertEquals(5, tree.size());
+        assertEquals(1, tree.get("give"));
+        assertEquals(2, tree.get("GIVEALL"));
+        assertEquals(3, tree.get("Gift"));
+        assertEquals(5, tree.get("g"));
+        assertNull(tree.get("gi"), "Expected prefix of a key to miss");
+        assertNull(tree.get("givea"));
+        assertNull(tree.get("gives"));
+        assertNull(tree.get(""));
+    }
+
+    @Test
+    void testReplace() {
+        RadixTree<Integer> tree = tree();
+        assertEquals(1, tree.put("GIVE", 10));
+        assertEquals(10, tree.get("give"));
+        assertEquals(5, tree.size());
+    }
+
+    @Test
+    void testCompletion() {
+        RadixTree<Integer> tree = tree();
+        assertEquals(List.of("g", "gift", "give", "giveAll"), tree.complete("G", 10));
+        assertEquals(List.of("give", "giveAll"), tree.complete("giv", 10));
+        assertEquals(List.of("giveAll"), tree.complete("givea", 10));
+        assertEquals(List.of("g", "gift"), tree.complete("g", 2));
+        assertEquals(List.of(), tree.complete("x", 10));
+        assertEquals(List.of(), tree.complete("gix", 10));
+        assertEquals(List.of(5, 3, 1, 2, 4), tree.values());
+    }
+
+}
@@ -0,0 +1,52 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.parser.SuggestionIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    private final SuggestionIndex index = SuggestionIndex.of(List.of(
+            "minecraft:stone", "minecraft:stone_bricks", "minecraft:sand", "custom:stonecutter", "Steve", "minecraft:stick"
+    ));
+
+    @Test
+    void testShortNames() {
+        assertEquals(List.of("stone", "stone_bricks", "custom:stonecutter"), index.suggest("stone"), "Expected the minecraft namespace to be stripped");
+        assertEquals(List.of("sand", "Steve", "stick", "stone", "stone_bricks", "custom:stonecutter"), index.suggest(""));
+        assertEquals(List.of(), index.suggest("dirt"));
+    }
+
+    @Test
+    void testFullNames() {
+        assertEquals(List.of("minecraft:stone", "minecraft:stone_bricks"), index.suggest("minecraft:sto"), "Expected input with a colon to match full names");
+        assertEquals(List.of("custom:stonecutter"), index.suggest("custom:"));
+        assertEquals(List.of(), index.suggest("stonecutter:"));
+    }
+
+    @Test
+    void testIgnoresCase() {
+        assertEquals(List.of("stone", "stone_bricks", "custom:stonecutter"), index.suggest("STONE"));
+        assertEquals(List.of("Steve"), index.suggest("stev"));
+        assertEquals(List.of("minecraft:stick"), index.suggest("MINECRAFT:ST", 10).subList(0, 1));
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(List.of("stone", "stone_bricks"), index.suggest("st", 10).subList(2, 4));
+        assertEquals(List.of("Steve", "stick"), index.suggest("st", 2));
+        assertEquals(List.of(), index.suggest("st", 0));
+        assertEquals(5, index.suggest("st", Integer.MAX_VALUE).size(), "Expected a large limit not to overflow");
+    }
+
+    @Test
+    void testDuplicateShortNames() {
+        SuggestionIndex duplicates = SuggestionIndex.of(List.of("minecraft:stone", "custom:stone"));
+        assertEquals(List.of("stone"), duplicates.suggest("stone"), "Expected the first name to win a short name");
+        assertEquals(List.of("custom:stone"), duplicates.suggest("custom:"), "Expected both names to stay available in full");
+    }
+
+}
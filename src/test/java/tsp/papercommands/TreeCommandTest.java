@@ -0,0 +1,121 @@
+package tsp.papercommands;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import tsp.papercommands.command.PaperCommandContext;
+import tsp.papercommands.command.tree.CommandNode;
+import tsp.papercommands.command.tree.TreeCommand;
+import tsp.papercommands.cooldown.Cooldown;
+import tsp.papercommands.cooldown.CooldownTracker;
+import tsp.papercommands.metrics.CommandMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeCommandTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private CommandSender sender;
+    private TreeCommand command;
+
+    @BeforeEach
+    void setUp() {
+        sender = Mockito.mock(CommandSender.class);
+        Mockito.when(sender.hasPermission("eco.give")).thenReturn(true);
+
+        command = new TreeCommand("eco")
+                .executes(ctx -> calls.add("root " + ctx.rawArgs()))
+                .then(CommandNode.literal("give", "add").permission("eco.give").usage("<name> <amount:int>")
+                        .executes(ctx -> calls.add("give " + ctx.value("name") + " " + ctx.value("amount"))))
+                .then(CommandNode.literal("reset").permission("eco.reset").executes(ctx -> calls.add("reset")))
+                .then(CommandNode.literal("spawn").usage("<world:world>").executes(ctx -> calls.add("spawn")))
+                .then(CommandNode.literal("admin")
+                        .then(CommandNode.literal("reload").executes(ctx -> calls.add("reload"))));
+    }
+
+    @Test
+    void testDispatch() {
+        command.execute(sender, "eco", new String[]{"GIVE", "Silent", "5"});
+        command.execute(sender, "eco", new String[]{"add", "Silent", "7"});
+        command.execute(sender, "eco", new String[]{"admin", "reload"});
+        command.execute(sender, "eco", new String[]{"unknown"});
+        assertEquals(List.of("give Silent 5", "give Silent 7", "reload", "root [unknown]"), calls);
+    }
+
+    @Test
+    void testPermissionAndUsage() {
+        command.execute(sender, "eco", new String[]{"reset"});
+        command.execute(sender, "eco", new String[]{"give", "Silent", "five"});
+        command.execute(sender, "eco", new String[]{"admin"});
+        assertTrue(calls.isEmpty(), "Expected no handler to run");
+    }
+
+    @Test
+    void testCompletion() {
+        assertEquals(List.of("add", "admin", "give", "spawn"), command.tabHandler(new PaperCommandContext<>(sender, command, new String[]{""})));
+        assertEquals(List.of("admin"), command.tabHandler(new PaperCommandContext<>(sender, command, new String[]{"ADM"})));
+        assertEquals(List.of("reload"), command.tabHandler(new PaperCommandContext<>(sender, command, new String[]{"admin", "r"})));
+        assertEquals(List.of(), command.tabHandler(new PaperCommandContext<>(sender, command, new String[]{"reset", ""})));
+    }
+
+    @Test
+    void testAsyncCompletionDefersMainThreadSlots() {
+        assertEquals(List.of("reload"), command.asyncTabHandler(new PaperCommandContext<>(sender, command, new String[]{"admin", "r"})));
+        assertNull(command.asyncTabHandler(new PaperCommandContext<>(sender, command, new String[]{"spawn", "w"})), "Expected worlds to complete on the main thread");
+    }
+
+    @Test
+    void testUsageFailureKeepsCooldown() {
+        // Arrange: a command cooldown and a player
+        Cooldown cooldown = Cooldown.builder(Duration.ofMinutes(1)).tracker(new CooldownTracker(() -> 0)).build();
+        TreeCommand limited = new TreeCommand("eco") {
+            @Override
+            public Optional<Cooldown> getCooldown() {
+                return Optional.of(cooldown);
+            }
+        }.then(CommandNode.literal("give").usage("<name> <amount:int>").executes(ctx -> calls.add("give " + ctx.value("amount"))));
+        Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+
+        // Act: a mistyped invocation, then two valid ones
+        limited.execute(player, "eco", new String[]{"give", "Silent", "five"});
+        limited.execute(player, "eco", new String[]{"give", "Silent", "5"});
+        limited.execute(player, "eco", new String[]{"give", "Silent", "6"});
+
+        // Assert: only valid input started the cooldown
+        assertEquals(List.of("give 5"), calls, "Expected the usage failure not to start the cooldown");
+        assertTrue(cooldown.remaining(player) > 0);
+    }
+
+    @Test
+    void testFailuresAreNotExecutions() {
+        // Arrange: a tree whose root only routes
+        TreeCommand tracked = new TreeCommand("eco-metrics")
+                .then(CommandNode.literal("give").usage("<amount:int>").executes(ctx -> calls.add("give")))
+                .then(CommandNode.literal("reset").permission("eco.reset").executes(ctx -> calls.add("reset")));
+
+        // Act: a usage failure, a permission failure, a root usage failure and a valid invocation
+        tracked.execute(sender, "eco-metrics", new String[]{"give", "five"});
+        tracked.execute(sender, "eco-metrics", new String[]{"reset"});
+        tracked.execute(sender, "eco-metrics", new String[0]);
+        tracked.execute(sender, "eco-metrics", new String[]{"give", "5"});
+
+        // Assert: like flat commands, only the valid invocation is an execution of the command
+        CommandMetrics.Stats root = tracked.getMetrics().stats();
+        assertEquals(1, root.execution().count(), "Expected rejected input not to count as an execution");
+        assertEquals(1, root.usageFailures());
+        CommandMetrics.Stats give = CommandMetrics.INSTANCE.stats("eco-metrics give").orElseThrow();
+        assertEquals(1, give.usageFailures());
+        assertEquals(1, give.execution().count());
+        assertEquals(1, CommandMetrics.INSTANCE.stats("eco-metrics reset").orElseThrow().permissionFailures());
+    }
+
+}
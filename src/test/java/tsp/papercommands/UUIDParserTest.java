@@ -0,0 +1,43 @@
+package tsp.papercommands;
+
+import org.junit.jupiter.api.Test;
+import tsp.papercommands.argument.parser.UUIDParser;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UUIDParserTest {
+
+    private static final UUID NOTCH = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    @Test
+    void testDashedAndUndashed() {
+        assertEquals(NOTCH, UUIDParser.parse("069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+        assertEquals(NOTCH, UUIDParser.parse("069a79f444e94726a5befca90e38aaf5"));
+        assertEquals(NOTCH, UUIDParser.parse("069A79F4-44E9-4726-A5BE-FCA90E38AAF5"), "Expected hex digits to be case-insensitive");
+        assertEquals(new UUID(-1, -1), UUIDParser.parse("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+        assertEquals(new UUID(0, 0), UUIDParser.parseSafely("00000000000000000000000000000000").orElseThrow());
+    }
+
+    @Test
+    void testRejectsMalformedInput() {
+        assertNull(UUIDParser.parse(""));
+        assertNull(UUIDParser.parse("Notch"));
+        assertNull(UUIDParser.parse("069a79f4-44e9-4726-a5be-fca90e38aaf"), "Expected a short UUID to fail");
+        assertNull(UUIDParser.parse("069a79f4-44e9-4726-a5be-fca90e38aaf50"), "Expected a long UUID to fail");
+        assertNull(UUIDParser.parse("069a79f444e9-4726-a5be-fca90e38aaf5-"), "Expected misplaced dashes to fail");
+        assertNull(UUIDParser.parse("069a79f4-44e9-4726-a5be-fca90e38aag5"), "Expected non-hex digits to fail");
+        assertNull(UUIDParser.parse("069a79f444e94726a5befca90e38aaf-"), "Expected a dash in the undashed form to fail");
+        assertNull(UUIDParser.parse("69a79f4-44e9-4726-a5be-fca90e38aaf5"), "Expected the shortened java.util.UUID form to fail");
+        assertTrue(UUIDParser.parseSafely(null).isEmpty());
+    }
+
+    @Test
+    void testLooksLikeUUID() {
+        assertTrue(UUIDParser.looksLikeUUID("069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+        assertTrue(UUIDParser.looksLikeUUID("069a79f444e94726a5befca90e38aaf5"));
+        assertFalse(UUIDParser.looksLikeUUID("ThisIsSixteenChr"));
+    }
+
+}